@@ -0,0 +1,173 @@
+package org.javarefresher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.javarefresher.concurrent.IntRingBuffer;
+import org.javarefresher.concurrent.WaitStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Producer/consumer hand-off of MESSAGES ints through a bounded queue: the synchronized
+ * SharedQueue, LinkedBlockingQueue, and IntRingBuffer with each wait strategy.
+ * Each operation starts threadsPerSide producers and as many consumers and waits for all
+ * messages to arrive. "handoff" moves one value per call; "handoffBatch" lets consumers
+ * drain up to BATCH values per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HandoffQueueBenchmark {
+
+    private static final int MESSAGES = 100_000;
+    private static final int CAPACITY = 1024;
+    private static final int BATCH = 64;
+
+    @Param({"shared", "linked", "ring-blocking", "ring-yielding", "ring-spinning"})
+    public String queue;
+
+    @Param({"1", "4"})
+    public int threadsPerSide;
+
+    @Benchmark
+    public void handoff(Blackhole blackhole) throws InterruptedException {
+        run(newQueue(), 1, blackhole);
+    }
+
+    @Benchmark
+    public void handoffBatch(Blackhole blackhole) throws InterruptedException {
+        run(newQueue(), BATCH, blackhole);
+    }
+
+    private void run(IntHandoff handoff, int batch, Blackhole blackhole) throws InterruptedException {
+        int perThread = MESSAGES / threadsPerSide;
+        List<Thread> threads = new ArrayList<>(threadsPerSide * 2);
+        for (int t = 0; t < threadsPerSide; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        handoff.put(i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            threads.add(new Thread(() -> {
+                int[] buffer = new int[batch];
+                long sum = 0;
+                try {
+                    int received = 0;
+                    while (received < perThread) {
+                        int n = handoff.take(buffer, Math.min(batch, perThread - received));
+                        for (int i = 0; i < n; i++) {
+                            sum += buffer[i];
+                        }
+                        received += n;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                blackhole.consume(sum);
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private IntHandoff newQueue() {
+        return switch (queue) {
+            case "shared" -> sharedQueue();
+            case "linked" -> linkedBlockingQueue();
+            case "ring-blocking" -> ringBuffer(WaitStrategy.blocking());
+            case "ring-yielding" -> ringBuffer(WaitStrategy.yielding());
+            case "ring-spinning" -> ringBuffer(WaitStrategy.spinning());
+            default -> throw new IllegalArgumentException(queue);
+        };
+    }
+
+    /**
+     * put one value; take waits for at least one value and returns up to max of them.
+     */
+    private interface IntHandoff {
+        void put(int value) throws InterruptedException;
+
+        int take(int[] buffer, int max) throws InterruptedException;
+    }
+
+    private static IntHandoff sharedQueue() {
+        SharedQueue shared = new SharedQueue(CAPACITY);
+        return new IntHandoff() {
+            @Override
+            public void put(int value) throws InterruptedException {
+                shared.produce(value);
+            }
+
+            @Override
+            public int take(int[] buffer, int max) throws InterruptedException {
+                buffer[0] = shared.consume();
+                return 1;
+            }
+        };
+    }
+
+    private static IntHandoff linkedBlockingQueue() {
+        LinkedBlockingQueue<Integer> linked = new LinkedBlockingQueue<>(CAPACITY);
+        return new IntHandoff() {
+            @Override
+            public void put(int value) throws InterruptedException {
+                linked.put(value);
+            }
+
+            @Override
+            public int take(int[] buffer, int max) throws InterruptedException {
+                buffer[0] = linked.take();
+                if (max == 1) {
+                    return 1;
+                }
+                List<Integer> drained = new ArrayList<>(max - 1);
+                linked.drainTo(drained, max - 1);
+                for (int i = 0; i < drained.size(); i++) {
+                    buffer[i + 1] = drained.get(i);
+                }
+                return drained.size() + 1;
+            }
+        };
+    }
+
+    private static IntHandoff ringBuffer(WaitStrategy waitStrategy) {
+        IntRingBuffer ring = new IntRingBuffer(CAPACITY, waitStrategy);
+        return new IntHandoff() {
+            @Override
+            public void put(int value) throws InterruptedException {
+                ring.put(value);
+            }
+
+            @Override
+            public int take(int[] buffer, int max) throws InterruptedException {
+                int n = max == 1 ? 0 : ring.drainTo(buffer, 0, max);
+                if (n > 0) {
+                    return n;
+                }
+                buffer[0] = ring.take();
+                return max == 1 ? 1 : 1 + ring.drainTo(buffer, 1, max - 1);
+            }
+        };
+    }
+}
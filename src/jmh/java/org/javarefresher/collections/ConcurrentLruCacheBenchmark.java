@@ -0,0 +1,155 @@
+package org.javarefresher.collections;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Contention on a shared bounded cache: ConcurrentLruCache, Guava's cache and the
+ * Collections.synchronizedMap(LinkedHashMap) LRU from testLinkedHashMap, at 1 to 64 threads.
+ * Each operation reads a random key (90%) or writes one (10%); the key space is twice the
+ * cache size, so roughly half the reads miss and writes keep evicting.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentLruCacheBenchmark {
+
+    private static final int MAXIMUM_SIZE = 10_000;
+    private static final int KEYS = MAXIMUM_SIZE * 2;
+    private static final int WRITE_PERCENT = 10;
+
+    @Param({"lru", "guava", "synchronized"})
+    public String impl;
+
+    private BoundedCache cache;
+
+    @Setup
+    public void setUp() {
+        cache = switch (impl) {
+            case "lru" -> concurrentLruCache();
+            case "guava" -> guavaCache();
+            case "synchronized" -> synchronizedLinkedHashMap();
+            default -> throw new IllegalArgumentException(impl);
+        };
+        for (int i = 0; i < MAXIMUM_SIZE; i++) {
+            cache.put(i, i);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer threads01() {
+        return readOrWrite();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer threads04() {
+        return readOrWrite();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Integer threads16() {
+        return readOrWrite();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Integer threads64() {
+        return readOrWrite();
+    }
+
+    private Integer readOrWrite() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(KEYS);
+        if (random.nextInt(100) < WRITE_PERCENT) {
+            cache.put(key, key);
+            return key;
+        }
+        return cache.get(key);
+    }
+
+    private interface BoundedCache {
+        Integer get(Integer key);
+
+        void put(Integer key, Integer value);
+    }
+
+    private static BoundedCache concurrentLruCache() {
+        ConcurrentLruCache<Integer, Integer> lru = ConcurrentLruCache.<Integer, Integer>builder()
+                .maximumSize(MAXIMUM_SIZE)
+                .build();
+        return new BoundedCache() {
+            @Override
+            public Integer get(Integer key) {
+                return lru.getIfPresent(key);
+            }
+
+            @Override
+            public void put(Integer key, Integer value) {
+                lru.put(key, value);
+            }
+        };
+    }
+
+    private static BoundedCache guavaCache() {
+        Cache<Integer, Integer> guava = CacheBuilder.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .recordStats()
+                .build();
+        return new BoundedCache() {
+            @Override
+            public Integer get(Integer key) {
+                return guava.getIfPresent(key);
+            }
+
+            @Override
+            public void put(Integer key, Integer value) {
+                guava.put(key, value);
+            }
+        };
+    }
+
+    private static BoundedCache synchronizedLinkedHashMap() {
+        Map<Integer, Integer> map = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > MAXIMUM_SIZE;
+            }
+        });
+        return new BoundedCache() {
+            @Override
+            public Integer get(Integer key) {
+                return map.get(key);
+            }
+
+            @Override
+            public void put(Integer key, Integer value) {
+                map.put(key, value);
+            }
+        };
+    }
+}
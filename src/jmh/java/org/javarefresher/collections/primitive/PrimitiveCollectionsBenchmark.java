@@ -0,0 +1,153 @@
+package org.javarefresher.collections.primitive;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+
+/**
+ * Primitive collections against the boxed JDK / Guava versions used in CollectionsTesting.
+ * Each operation builds or reads a whole collection of size elements; run with the gc
+ * profiler (the benchmarks profile does) to see gc.alloc.rate.norm, the bytes allocated
+ * per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveCollectionsBenchmark {
+
+    private static final String VALUE = "value";
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private long[] keys;
+    private HashMap<Long, String> hashMap;
+    private LongObjectHashMap<String> longObjectHashMap;
+    private ArrayList<Integer> arrayList;
+    private IntArrayList intArrayList;
+
+    @Setup
+    public void setUp() {
+        keys = ThreadLocalRandom.current().longs(size, 1, Long.MAX_VALUE).toArray();
+
+        hashMap = new HashMap<>();
+        longObjectHashMap = new LongObjectHashMap<>();
+        arrayList = new ArrayList<>();
+        intArrayList = new IntArrayList();
+        for (int i = 0; i < size; i++) {
+            hashMap.put(keys[i], VALUE);
+            longObjectHashMap.put(keys[i], VALUE);
+            // Outside the Integer cache, as ids would be
+            arrayList.add(i + 1000);
+            intArrayList.add(i + 1000);
+        }
+    }
+
+    @Benchmark
+    public Map<Long, String> hashMapPut() {
+        HashMap<Long, String> map = new HashMap<>();
+        for (long key : keys) {
+            map.put(key, VALUE);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public LongObjectHashMap<String> longObjectHashMapPut() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        for (long key : keys) {
+            map.put(key, VALUE);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public void hashMapGet(Blackhole blackhole) {
+        for (long key : keys) {
+            blackhole.consume(hashMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void longObjectHashMapGet(Blackhole blackhole) {
+        for (long key : keys) {
+            blackhole.consume(longObjectHashMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public List<Integer> arrayListAdd() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i + 1000);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public IntArrayList intArrayListAdd() {
+        IntArrayList list = new IntArrayList();
+        for (int i = 0; i < size; i++) {
+            list.add(i + 1000);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long arrayListIterate() {
+        long sum = 0;
+        for (int value : arrayList) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intArrayListIterate() {
+        long sum = 0;
+        for (int i = 0; i < intArrayList.size(); i++) {
+            sum += intArrayList.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Multimap<Integer, String> arrayListMultimapPut() {
+        Multimap<Integer, String> multimap = ArrayListMultimap.create();
+        for (int i = 0; i < size; i++) {
+            multimap.put((int) (keys[i] % 1000) + 1000, VALUE);
+        }
+        return multimap;
+    }
+
+    @Benchmark
+    public IntObjectMultimap<String> intObjectMultimapPut() {
+        IntObjectMultimap<String> multimap = new IntObjectMultimap<>();
+        for (int i = 0; i < size; i++) {
+            multimap.put((int) (keys[i] % 1000) + 1000, VALUE);
+        }
+        return multimap;
+    }
+}
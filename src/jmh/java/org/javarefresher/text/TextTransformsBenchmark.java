@@ -0,0 +1,141 @@
+package org.javarefresher.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * TextTransforms against the previous Done.reverseWords / Example run-length loops (kept
+ * below as legacy*) over a batch of records, sequentially and with transformAll. Run with
+ * the gc profiler (the benchmarks profile does) to compare gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextTransformsBenchmark {
+
+    private static final String[] WORDS = {"yM", "eman", "si", "arqI", "zizA", "tseT", "drow"};
+    private static final String[] DELIMITERS = {" ", ", ", ". "};
+
+    @Param({"1000", "100000"})
+    public int records;
+
+    private List<String> sentences;
+    private List<String> runs;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        sentences = new ArrayList<>(records);
+        runs = new ArrayList<>(records);
+        for (int r = 0; r < records; r++) {
+            StringBuilder sentence = new StringBuilder();
+            StringBuilder run = new StringBuilder();
+            for (int w = 0; w < 12; w++) {
+                sentence.append(WORDS[random.nextInt(WORDS.length)]).append(DELIMITERS[random.nextInt(DELIMITERS.length)]);
+                run.append(String.valueOf((char) ('a' + random.nextInt(26))).repeat(1 + random.nextInt(20)));
+            }
+            sentences.add(sentence.toString());
+            runs.add(run.toString());
+        }
+    }
+
+    @Benchmark
+    public void reverseWordsLegacy(Blackhole blackhole) {
+        for (String sentence : sentences) {
+            blackhole.consume(legacyReverseWords(sentence));
+        }
+    }
+
+    @Benchmark
+    public void reverseWordsBuffer(Blackhole blackhole) {
+        TextBuffer buffer = new TextBuffer();
+        for (String sentence : sentences) {
+            buffer.clear();
+            TextTransforms.reverseWords(sentence, buffer);
+            blackhole.consume(buffer.length());
+        }
+    }
+
+    @Benchmark
+    public String[] reverseWordsParallel() {
+        return TextTransforms.transformAll(sentences, TextTransforms.REVERSE_WORDS);
+    }
+
+    @Benchmark
+    public void runLengthEncodeLegacy(Blackhole blackhole) {
+        for (String run : runs) {
+            blackhole.consume(legacyRunLengthEncode(run));
+        }
+    }
+
+    @Benchmark
+    public void runLengthEncodeBuffer(Blackhole blackhole) {
+        TextBuffer buffer = new TextBuffer();
+        for (String run : runs) {
+            buffer.clear();
+            TextTransforms.runLengthEncode(run, buffer);
+            blackhole.consume(buffer.length());
+        }
+    }
+
+    @Benchmark
+    public String[] runLengthEncodeParallel() {
+        return TextTransforms.transformAll(runs, TextTransforms.RUN_LENGTH_ENCODE);
+    }
+
+    // Done.reverseWords before TextTransforms: a StringBuilder and a String per word
+    private static String legacyReverseWords(String sentence) {
+        String[] words = sentence.split(" ");
+        StringBuilder reversedSentence = new StringBuilder();
+        for (String word : words) {
+            StringBuilder intermediate = new StringBuilder(word);
+            int start = 0, wordLen = word.length() - 1;
+            while (start < wordLen) {
+                char temp = intermediate.charAt(start);
+                intermediate.setCharAt(start, intermediate.charAt(wordLen));
+                intermediate.setCharAt(wordLen, temp);
+                start++;
+                wordLen--;
+            }
+            reversedSentence.append(intermediate.toString());
+        }
+        return reversedSentence.toString();
+    }
+
+    // Example.example before TextTransforms: a String per run
+    private static String legacyRunLengthEncode(String one) {
+        char currChar = one.charAt(0);
+        int currCharCounter = 1, stringLength = one.length();
+        StringBuilder reducedString = new StringBuilder();
+        for (int i = 0; i < stringLength - 1; i++) {
+            if (one.charAt(i + 1) == currChar) {
+                currCharCounter++;
+            } else {
+                String currSequence = currChar + Integer.toString(currCharCounter);
+                reducedString.append(currSequence);
+                currCharCounter = 1;
+                currChar = one.charAt(i + 1);
+            }
+        }
+        reducedString.append(currChar).append(currCharCounter);
+        return reducedString.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package springboot;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import springboot.dto.UserCreationRequest;
+import springboot.dto.UserDTO;
+import springboot.service.OrderBatchService;
+import springboot.service.UserService;
+
+/**
+ * Shared JMH state: the full application context on a private in-memory H2 database,
+ * seeded with USERS users and ORDERS_PER_USER orders each.
+ */
+@State(Scope.Benchmark)
+public class ApplicationBenchmarkState {
+
+    public static final int USERS = 1_000;
+    public static final int ORDERS_PER_USER = 20;
+
+    private ConfigurableApplicationContext context;
+    private long[] userIds;
+    private long[] orderIds;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        context = new SpringApplicationBuilder(AssessmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+
+        UserService userService = bean(UserService.class);
+        userIds = new long[USERS];
+        for (int i = 0; i < USERS; i++) {
+            UserCreationRequest request = new UserCreationRequest();
+            request.setUsername("bench_user_" + i);
+            request.setEmail("bench_user_" + i + "@example.com");
+            request.setPassword("password" + i);
+            UserDTO user = userService.createUser(request);
+            userIds[i] = user.getId();
+        }
+
+        StringBuilder ndjson = new StringBuilder();
+        for (long userId : userIds) {
+            for (int i = 1; i <= ORDERS_PER_USER; i++) {
+                ndjson.append("{\"userId\":").append(userId).append(",\"amount\":").append(i * 10).append(".50}\n");
+            }
+        }
+        bean(OrderBatchService.class).importOrders(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), true);
+
+        List<Long> ids = bean(JdbcTemplate.class).queryForList("SELECT id FROM orders", Long.class);
+        orderIds = ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public <T> T bean(String name, Class<T> type) {
+        return context.getBean(name, type);
+    }
+
+    public long randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    public long randomOrderId() {
+        return orderIds[ThreadLocalRandom.current().nextInt(orderIds.length)];
+    }
+}
@@ -0,0 +1,99 @@
+package springboot.analytics;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import springboot.analytics.OrderColumns.Aggregate;
+import springboot.analytics.OrderColumns.Filter;
+import springboot.dto.OrderDTO;
+import springboot.model.Order.OrderStatus;
+
+/**
+ * Amount-range and per-status aggregates over the same orders, as OrderDTO rows with
+ * BigDecimal / LocalDateTime fields (what the JPA queries materialize) and as OrderColumns.
+ * No database is involved, so this measures only the scan itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderColumnsBenchmark {
+
+    private static final BigDecimal MIN_AMOUNT = new BigDecimal("100.00");
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("500.00");
+
+    @Param({"100000", "1000000"})
+    public int orders;
+
+    private List<OrderDTO> rows;
+    private OrderColumns columns;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        OrderStatus[] statuses = OrderStatus.values();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        rows = new ArrayList<>(orders);
+        OrderColumns.Builder builder = OrderColumns.builder(orders);
+        for (int i = 0; i < orders; i++) {
+            long cents = random.nextLong(1, 100_000);
+            LocalDateTime orderDate = start.plusMinutes(random.nextInt(525_600));
+            OrderStatus status = statuses[random.nextInt(statuses.length)];
+            rows.add(new OrderDTO((long) i, BigDecimal.valueOf(cents, 2), status, orderDate, 1L, "user"));
+            builder.add(i, cents, orderDate, status);
+        }
+        columns = builder.build(Instant.now(), "benchmark");
+    }
+
+    @Benchmark
+    public BigDecimal amountRangeRows() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderDTO row : rows) {
+            if (row.getTotalAmount().compareTo(MIN_AMOUNT) >= 0 && row.getTotalAmount().compareTo(MAX_AMOUNT) <= 0) {
+                total = total.add(row.getTotalAmount());
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Aggregate amountRangeColumns() {
+        return columns.aggregate(new Filter(10_000, 50_000, Long.MIN_VALUE, Long.MAX_VALUE, Filter.ALL_STATUSES));
+    }
+
+    @Benchmark
+    public BigDecimal[] byStatusRows() {
+        BigDecimal[] totals = new BigDecimal[OrderStatus.values().length];
+        Arrays.fill(totals, BigDecimal.ZERO);
+        for (OrderDTO row : rows) {
+            int s = row.getStatus().ordinal();
+            totals[s] = totals[s].add(row.getTotalAmount());
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Aggregate[] byStatusColumns() {
+        return columns.aggregateByStatus(Filter.all());
+    }
+}
@@ -0,0 +1,74 @@
+package springboot.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import springboot.model.Order.OrderStatus;
+import springboot.model.User;
+import springboot.model.User.UserStatus;
+
+/**
+ * Benchmarks Jackson serialization of the API response types, using the same
+ * ObjectMapper defaults Spring MVC uses for response bodies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private ObjectWriter writer;
+    private OrderDTO order;
+    private User user;
+    private UserDTO userDTO;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+
+        order = new OrderDTO(12345L, new BigDecimal("199.99"), OrderStatus.SHIPPED,
+                LocalDateTime.of(2024, 5, 17, 14, 30), 678L, "bench_user");
+
+        user = new User();
+        user.setId(678L);
+        user.setUsername("bench_user");
+        user.setEmail("bench_user@example.com");
+        user.setPassword("password123");
+
+        userDTO = new UserDTO(678L, "bench_user", "bench_user@example.com", UserStatus.ACTIVE,
+                LocalDateTime.of(2024, 5, 1, 9, 0), LocalDateTime.of(2024, 5, 17, 14, 30));
+    }
+
+    @Benchmark
+    public byte[] serializeOrderDTO() throws JsonProcessingException {
+        return writer.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws JsonProcessingException {
+        return writer.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializeUserDTO() throws JsonProcessingException {
+        return writer.writeValueAsBytes(userDTO);
+    }
+}
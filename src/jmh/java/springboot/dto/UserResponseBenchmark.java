@@ -0,0 +1,84 @@
+package springboot.dto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import springboot.ApplicationBenchmarkState;
+import springboot.model.User;
+import springboot.model.User.UserStatus;
+import springboot.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Compares the full user response path - query plus JSON body - when users are read
+ * as entities and when they are read through the UserDTO projection.
+ * The body size of each variant is printed once at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserResponseBenchmark {
+
+    private ApplicationBenchmarkState app;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationBenchmarkState app) throws JsonProcessingException {
+        this.app = app;
+        userRepository = app.bean(UserRepository.class);
+        entityManager = app.bean(EntityManager.class);
+        objectMapper = app.bean(ObjectMapper.class);
+
+        System.out.printf("Response bytes: user by id entity=%d dto=%d, users by status entities=%d dtos=%d%n",
+                userByIdAsEntity().length, userByIdAsDTO().length,
+                usersByStatusAsEntities().length, usersByStatusAsDTOs().length);
+    }
+
+    @Benchmark
+    public byte[] userByIdAsEntity() throws JsonProcessingException {
+        User user = userRepository.findById(app.randomUserId()).orElseThrow();
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] userByIdAsDTO() throws JsonProcessingException {
+        UserDTO user = userRepository.findDTOById(app.randomUserId()).orElseThrow();
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] usersByStatusAsEntities() throws JsonProcessingException {
+        List<User> users = entityManager
+                .createQuery("SELECT u FROM User u WHERE u.status = :status", User.class)
+                .setParameter("status", UserStatus.ACTIVE)
+                .getResultList();
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] usersByStatusAsDTOs() throws JsonProcessingException {
+        List<UserDTO> users = userRepository.findDTOsByStatus(UserStatus.ACTIVE);
+        return objectMapper.writeValueAsBytes(users);
+    }
+}
@@ -0,0 +1,65 @@
+package springboot.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+/**
+ * Measures the per-call cost of the timers the metrics aspects add, with and without
+ * percentile histograms, against the same work done untimed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private static final int WORK_TOKENS = 100;
+
+    private Timer simpleTimer;
+    private Timer histogramTimer;
+
+    @Setup
+    public void setUp() {
+        simpleTimer = Timer.builder("bench.simple")
+                .register(new SimpleMeterRegistry());
+        histogramTimer = Timer.builder("bench.histogram")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+    }
+
+    @Benchmark
+    public void baseline() {
+        Blackhole.consumeCPU(WORK_TOKENS);
+    }
+
+    @Benchmark
+    public void timedSimple() {
+        simpleTimer.record(() -> Blackhole.consumeCPU(WORK_TOKENS));
+    }
+
+    @Benchmark
+    public void timedWithHistogram() {
+        histogramTimer.record(() -> Blackhole.consumeCPU(WORK_TOKENS));
+    }
+}
@@ -0,0 +1,116 @@
+package springboot.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import springboot.ApplicationBenchmarkState;
+import springboot.cache.EntityCache;
+import springboot.dto.OrderBatchResult;
+import springboot.dto.OrderDTO;
+import springboot.model.Order;
+import springboot.model.User;
+
+/**
+ * Benchmarks for the OrderService hot paths against the embedded H2 database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark {
+
+    private static final int BATCH_ROWS = 1_000;
+
+    // Well under app.cache.orders.maximum-size, so every cached read is a hit
+    private static final int CACHED_ORDERS = 1_000;
+
+    private OrderService orderService;
+    private OrderBatchService orderBatchService;
+    private EntityCache<Long, OrderDTO> orderCache;
+    private long[] cachedOrderIds;
+    private Order detachedOrder;
+    private byte[] batchBody;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp(ApplicationBenchmarkState app) {
+        orderService = app.bean(OrderService.class);
+        orderBatchService = app.bean(OrderBatchService.class);
+        orderCache = app.bean("orderCache", EntityCache.class);
+
+        cachedOrderIds = new long[CACHED_ORDERS];
+        for (int i = 0; i < CACHED_ORDERS; i++) {
+            cachedOrderIds[i] = app.randomOrderId();
+            orderService.getOrderById(cachedOrderIds[i]);
+        }
+
+        User user = new User();
+        user.setId(app.randomUserId());
+        user.setUsername("bench_user");
+        detachedOrder = new Order();
+        detachedOrder.setId(1L);
+        detachedOrder.setUser(user);
+        detachedOrder.setTotalAmount(new BigDecimal("99.95"));
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < BATCH_ROWS; i++) {
+            ndjson.append("{\"userId\":").append(app.randomUserId()).append(",\"amount\":12.34}\n");
+        }
+        batchBody = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public OrderDTO createOrder(ApplicationBenchmarkState app) {
+        return orderService.createOrder(app.randomUserId(), new BigDecimal("42.00"));
+    }
+
+    @Benchmark
+    public OrderDTO getOrderByIdCached() {
+        return orderService.getOrderById(cachedOrderIds[ThreadLocalRandom.current().nextInt(CACHED_ORDERS)]);
+    }
+
+    @Benchmark
+    public OrderDTO getOrderByIdUncached(ApplicationBenchmarkState app) {
+        long id = app.randomOrderId();
+        orderCache.evict(id);
+        return orderService.getOrderById(id);
+    }
+
+    @Benchmark
+    public List<OrderDTO> getOrdersByUserId(ApplicationBenchmarkState app) {
+        return orderService.getOrdersByUserId(app.randomUserId());
+    }
+
+    @Benchmark
+    public OrderDTO convertToDTO() {
+        return orderService.convertToDTO(detachedOrder);
+    }
+
+    /**
+     * Bulk import of BATCH_ROWS orders through the chunked JDBC batch path.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public OrderBatchResult importOrdersBatch() throws IOException {
+        return orderBatchService.importOrders(new ByteArrayInputStream(batchBody), true);
+    }
+}
@@ -0,0 +1,75 @@
+package springboot.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import springboot.ApplicationBenchmarkState;
+import springboot.dto.UserCreationRequest;
+import springboot.dto.UserDTO;
+import springboot.model.User.UserStatus;
+
+/**
+ * Benchmarks for the UserService hot paths against the embedded H2 database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ApplicationBenchmarkState app;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationBenchmarkState app) {
+        this.app = app;
+        userService = app.bean(UserService.class);
+    }
+
+    @Benchmark
+    public UserDTO getUserById() {
+        return userService.getUserById(app.randomUserId());
+    }
+
+    @Benchmark
+    public List<UserDTO> getUsersByStatus() {
+        return userService.getUsersByStatus(UserStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public UserDTO createUser() {
+        long n = sequence.incrementAndGet();
+        UserCreationRequest request = new UserCreationRequest();
+        request.setUsername("created_" + n);
+        request.setEmail("created_" + n + "@example.com");
+        request.setPassword("password" + n);
+        return userService.createUser(request);
+    }
+
+    @Benchmark
+    public List<UserDTO> searchUsersSubstring() {
+        return userService.searchUsers("user_12", 0, 20);
+    }
+
+    @Benchmark
+    public List<UserDTO> searchUsersShortPrefix() {
+        return userService.searchUsers("be", 0, 20);
+    }
+}
@@ -1,38 +1,50 @@
 package org.javarefresher;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.time.Duration;
+
+import org.javarefresher.pipeline.OverflowPolicy;
+import org.javarefresher.pipeline.Pipeline;
 
 public class BlockingQueueExample {
     public void blockingQueue(String[] args) {
-        BlockingQueue<Integer> blockingQueue = new LinkedBlockingQueue<>(5);
+        // BLOCK makes the producer wait for space instead of failing like BlockingQueue.add on a full queue;
+        // the consumer takes everything that is queued, up to 5 values, in one call
+        Pipeline<Integer> pipeline = Pipeline.<Integer>builder("example",
+                        batch -> {
+                            System.out.println("Consumed: " + batch);
+                            sleep(1200);
+                        })
+                .capacity(5)
+                .overflowPolicy(OverflowPolicy.BLOCK)
+                .maxBatchSize(5)
+                .workers(1, 2)
+                .scaleUpDepth(4)
+                .idleTimeout(Duration.ofSeconds(5))
+                .build();
 
         Thread producer = new Thread(() -> {
             int value = 0;
             try {
-                while (true) {
-                    blockingQueue.add(value);
+                while (value < 20) {
+                    pipeline.submit(value);
                     System.out.println("Produced: " + value++);
                     Thread.sleep(500);
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        });
-
-        Thread consumer = new Thread(() -> {
-            try {
-                while (true) {
-                    int value = blockingQueue.take();
-                    System.out.println("Consumed: " + value);
-                    Thread.sleep(1200);
-                }
+                pipeline.close();
+                System.out.println(pipeline.stats());
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
         });
 
         producer.start();
-        consumer.start();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
@@ -1,5 +1,8 @@
 package org.javarefresher;
 
+import org.javarefresher.text.TextBuffer;
+import org.javarefresher.text.TextTransforms;
+
 public class Done {
     public static void done(String[] args) {
                 /*
@@ -21,23 +24,9 @@ public class Done {
     }
 
     public static String reverseWords(String sentence) {
-        String[] words = sentence.split(" ");
-        // My, name, is. Iqra. Aziz
-        StringBuilder reversedSentence = new StringBuilder();
-        for (String word:words) {
-            StringBuilder intermediate = new StringBuilder(word);
-            int start = 0, wordLen = word.length()-1;
-            while (start < wordLen) {
-                char temp = intermediate.charAt(start);
-                intermediate.setCharAt(start, intermediate.charAt(wordLen));
-                intermediate.setCharAt(wordLen, temp);
-                start++;
-                wordLen--;
-            }
-            reversedSentence.append(intermediate.toString());
-            //StringBuilder reversedWord = new StringBuilder(new StringBuilder(word).reverse().toString());
-            //reversedSentence.append(reversedWord);
-        }
+        // Reverse each run of letters in one pass, copying dots, commas and spaces as they are
+        TextBuffer reversedSentence = new TextBuffer(sentence.length());
+        TextTransforms.reverseWords(sentence, reversedSentence);
         return reversedSentence.toString();
     }
 }
@@ -1,5 +1,8 @@
 package org.javarefresher;
 
+import org.javarefresher.text.TextBuffer;
+import org.javarefresher.text.TextTransforms;
+
 public class Example {
 // return reducedString if reducedString length is less than one length, else return original string
 // abc -> a1b1c1
@@ -12,20 +15,9 @@ public class Example {
     public static void example(String[] args) {
         String one = "aaaabbbbbccccccdddddddd";
 
-        char currChar = one.charAt(0);
-        int currCharCounter = 1, stringLength = one.length();
-        StringBuilder reducedString = new StringBuilder();
-        for (int i = 0; i < stringLength - 1; i++) {
-            if (one.charAt(i + 1) == currChar) {
-                currCharCounter++;
-            } else {
-                String currSequence = currChar + Integer.toString(currCharCounter);
-                reducedString.append(currSequence);
-                currCharCounter = 1;
-                currChar = one.charAt(i+1);
-            }
-        }
-        reducedString.append(currChar).append(currCharCounter);
+        // Each run is appended as char + count straight into the buffer, no String per run
+        TextBuffer reducedString = new TextBuffer(one.length());
+        TextTransforms.runLengthEncode(one, reducedString);
         if (reducedString.length() > one.length()) {
             System.out.println(one);
         } else {
@@ -27,6 +27,9 @@ public class Main {
         System.out.println("\nTesting LinkedHashMap");
         collectionsTesting.testLinkedHashMap();
 
+        System.out.println("\nTesting ConcurrentLruCache");
+        collectionsTesting.testConcurrentLruCache();
+
         System.out.println("\nTesting TreeMap");
         collectionsTesting.testTreeMap();
     }
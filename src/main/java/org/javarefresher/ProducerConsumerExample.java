@@ -3,6 +3,13 @@ package org.javarefresher;
 import java.util.LinkedList;
 import java.util.Queue;
 
+import org.javarefresher.concurrent.IntRingBuffer;
+import org.javarefresher.concurrent.WaitStrategy;
+
+/*
+    Monitor-based bounded queue: one lock for producers and consumers, and notifyAll wakes
+    every waiter on each operation. Kept as the baseline for IntRingBuffer.
+ */
 class SharedQueue {
     private final Queue<Integer> queue = new LinkedList<>();
     private final int capacity;
@@ -16,7 +23,6 @@ class SharedQueue {
             wait();
         }
         queue.add(value);
-        System.out.println("Produced: " + value);
         notifyAll();
     }
 
@@ -25,20 +31,22 @@ class SharedQueue {
             wait();
         }
         int value = queue.poll();
-        System.out.println("Consumed: " + value);
         notifyAll();
         return value;
+    }
 }
 
 
-public static class ProducerConsumerExample {
+public class ProducerConsumerExample {
     public static void example(String[] args) {
-        SharedQueue sharedQueue = new SharedQueue(5);
+        // Lock-free ring buffer; the blocking strategy parks the consumer while the queue is empty
+        IntRingBuffer sharedQueue = new IntRingBuffer(4, WaitStrategy.blocking());
         Thread producer = new Thread(() -> {
             int value = 0;
             try {
                 while (value != 10) {
-                    sharedQueue.produce(value++);
+                    sharedQueue.put(value);
+                    System.out.println("Produced: " + value++);
                     Thread.sleep(500);
                 }
             } catch (InterruptedException e) {
@@ -50,7 +58,8 @@ public static class ProducerConsumerExample {
             try {
                 int value = -1;
                 while (value != 9) {
-                    value = sharedQueue.consume();
+                    value = sharedQueue.take();
+                    System.out.println("Consumed: " + value);
                     Thread.sleep(1000);
                 }
             } catch (InterruptedException e) {
@@ -61,6 +70,4 @@ public static class ProducerConsumerExample {
         producer.start();
         consumer.start();
     }
-    }
-
 }
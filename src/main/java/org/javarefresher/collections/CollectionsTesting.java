@@ -66,6 +66,24 @@ public class CollectionsTesting {
         System.out.println(linkedHashMap);
     }
 
+    /*
+        CONCURRENT LRU CACHE
+        LinkedHashMap in access order, one per lock stripe (see ConcurrentLruCache)
+        Least recently used entry is evicted once the maximum size is reached
+     */
+    public void testConcurrentLruCache() {
+        ConcurrentLruCache<Integer, String> cache = ConcurrentLruCache.<Integer, String>builder()
+                .maximumSize(2)
+                .concurrencyLevel(1)
+                .removalListener((key, value, cause) -> System.out.println("Removed " + key + " (" + cause + ")"))
+                .build();
+        cache.put(1, "abc");
+        cache.put(2, "def");
+        cache.getIfPresent(1);  // 1 is now the most recently used
+        cache.put(3, "ghi");    // evicts 2
+        System.out.println(cache.getIfPresent(2) + " " + cache.stats());
+    }
+
     /*
        TREEMAP
        Red-Black Balanced Tree
@@ -0,0 +1,530 @@
+package org.javarefresher.collections;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/*
+    CONCURRENT LRU CACHE
+    The LinkedHashMap(accessOrder = true) LRU pattern from testLinkedHashMap, made thread-safe
+    by lock striping: each key hashes to one of N segments, and every segment is its own
+    access-ordered LinkedHashMap behind its own lock. Threads working on different segments
+    never contend, so throughput scales with the number of segments instead of serializing
+    on one lock as Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true)) does.
+
+    - Bounded by total weight (entry count by default, or a Weigher). Each segment holds its
+      share of the maximum and evicts its least recently used entries, so eviction order is
+      LRU per segment and approximately LRU for the cache as a whole.
+    - Optional expire-after-write TTL, checked on read; cleanUp() also sweeps expired entries.
+    - Removal listener called with the cause, always outside the segment lock.
+    - Hit / miss / load / eviction (size and expiry) counters and hit ratio via stats().
+    - get(key, loader) loads a missing value once: concurrent callers for the same key wait
+      for the first caller's load instead of loading again. Loads run outside the segment
+      lock, so a slow load never blocks other keys.
+
+    ConcurrentLruCache<Long, String> cache = ConcurrentLruCache.<Long, String>builder()
+            .maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(10)).build();
+ */
+public final class ConcurrentLruCache<K, V> {
+
+    public enum RemovalCause {
+        /** Removed by invalidate / invalidateIf / invalidateAll. */
+        EXPLICIT,
+        /** Overwritten by put or computeIfPresent. */
+        REPLACED,
+        /** Evicted to stay within the maximum weight. */
+        SIZE,
+        /** Older than expire-after-write. */
+        EXPIRED
+    }
+
+    @FunctionalInterface
+    public interface RemovalListener<K, V> {
+        void onRemoval(K key, V value, RemovalCause cause);
+    }
+
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+        int weigh(K key, V value);
+    }
+
+    /**
+     * Snapshot of the cache counters. As in Guava, evictionCount counts entries removed by
+     * the cache itself, for size or expiry, but not explicit invalidations or replacements.
+     */
+    public record Stats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+                        long totalLoadNanos, long evictionCount) {
+
+        public long requestCount() {
+            return hitCount + missCount;
+        }
+
+        public double hitRatio() {
+            long requests = requestCount();
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+    }
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long expireAfterWriteNanos;
+    private final RemovalListener<? super K, ? super V> removalListener;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadSuccesses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private ConcurrentLruCache(Builder<K, V> builder) {
+        this.weigher = builder.weigher;
+        this.expireAfterWriteNanos = builder.expireAfterWrite == null ? 0 : builder.expireAfterWrite.toNanos();
+        this.removalListener = builder.removalListener;
+
+        // Never more segments than weight units, so every segment can hold something
+        int segmentCount = (int) Math.min(builder.concurrencyLevel, Long.highestOneBit(builder.maximumWeight));
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Segment<K, V>[] segments = new Segment[segmentCount];
+        this.segments = segments;
+        this.segmentMask = segmentCount - 1;
+        for (int i = 0; i < segmentCount; i++) {
+            long share = builder.maximumWeight / segmentCount + (i < builder.maximumWeight % segmentCount ? 1 : 0);
+            segments[i] = new Segment<>(share);
+        }
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * The cached value, or null if absent or expired.
+     */
+    public V getIfPresent(K key) {
+        V value = lookup(key);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * The cached values of the keys that are present and not expired. Keys are grouped by
+     * segment, so each segment lock is taken once however many of its keys are asked for.
+     */
+    public Map<K, V> getAllPresent(Iterable<? extends K> keys) {
+        Map<Segment<K, V>, List<K>> bySegment = new IdentityHashMap<>();
+        for (K key : keys) {
+            bySegment.computeIfAbsent(segmentFor(key), s -> new ArrayList<>()).add(key);
+        }
+
+        Map<K, V> found = new LinkedHashMap<>();
+        long now = System.nanoTime();
+        int requested = 0;
+        for (Map.Entry<Segment<K, V>, List<K>> group : bySegment.entrySet()) {
+            Segment<K, V> segment = group.getKey();
+            List<Removal<K, V>> removals = null;
+            segment.lock.lock();
+            try {
+                for (K key : group.getValue()) {
+                    requested++;
+                    Node<V> node = segment.map.get(key);
+                    if (node == null) {
+                        continue;
+                    }
+                    if (isExpired(node, now)) {
+                        segment.map.remove(key);
+                        segment.weight -= node.weight;
+                        removals = add(removals, key, node.value, RemovalCause.EXPIRED);
+                    } else {
+                        found.put(key, node.value);
+                    }
+                }
+                segment.count = segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+            notifyRemovals(removals);
+        }
+        hits.add(found.size());
+        misses.add(requested - found.size());
+        return found;
+    }
+
+    /**
+     * The cached value, or the loader's value, which is cached. Concurrent misses for the same
+     * key share one load. Exceptions from the loader reach the caller and nothing is cached;
+     * a null from the loader is returned but not cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = lookup(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+
+        long start = System.nanoTime();
+        try {
+            value = lookup(key);
+            if (value == null) {
+                value = loader.apply(key);
+                loadSuccesses.increment();
+                loadNanos.add(System.nanoTime() - start);
+                if (value != null) {
+                    put(key, value);
+                }
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            loadNanos.add(System.nanoTime() - start);
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Cache the value, evicting least recently used entries of its segment as needed.
+     */
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException("Null keys and values are not supported");
+        }
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight for key " + key);
+        }
+
+        Segment<K, V> segment = segmentFor(key);
+        List<Removal<K, V>> removals = null;
+        segment.lock.lock();
+        try {
+            Node<V> previous = segment.map.put(key, new Node<>(value, weight, expireAfterWriteNanos > 0 ? System.nanoTime() : 0));
+            segment.weight += weight;
+            if (previous != null) {
+                segment.weight -= previous.weight;
+                removals = add(removals, key, previous.value, RemovalCause.REPLACED);
+            }
+            removals = segment.evictToFit(removals);
+            segment.count = segment.map.size();
+        } finally {
+            segment.lock.unlock();
+        }
+        notifyRemovals(removals);
+    }
+
+    /**
+     * Replace the cached value with the remapping of it, atomically with respect to other writes
+     * of the key; a null remapping removes the entry. Absent and expired entries are left absent.
+     * The remapping runs under the segment lock, so it must be quick and must not use the cache.
+     * Returns the new value, or null if there is none.
+     */
+    public V computeIfPresent(K key, UnaryOperator<V> remapping) {
+        Segment<K, V> segment = segmentFor(key);
+        List<Removal<K, V>> removals = null;
+        V value;
+        segment.lock.lock();
+        try {
+            Node<V> node = segment.map.get(key);
+            if (node == null) {
+                return null;
+            }
+            long now = System.nanoTime();
+            if (isExpired(node, now)) {
+                segment.map.remove(key);
+                segment.weight -= node.weight;
+                segment.count = segment.map.size();
+                removals = add(null, key, node.value, RemovalCause.EXPIRED);
+                value = null;
+            } else {
+                value = remapping.apply(node.value);
+                if (value == null) {
+                    segment.map.remove(key);
+                    segment.weight -= node.weight;
+                    removals = add(null, key, node.value, RemovalCause.EXPLICIT);
+                } else {
+                    int weight = weigher.weigh(key, value);
+                    if (weight < 0) {
+                        throw new IllegalArgumentException("Negative weight for key " + key);
+                    }
+                    segment.map.put(key, new Node<>(value, weight, expireAfterWriteNanos > 0 ? now : 0));
+                    segment.weight += weight - node.weight;
+                    removals = segment.evictToFit(add(null, key, node.value, RemovalCause.REPLACED));
+                }
+                segment.count = segment.map.size();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        notifyRemovals(removals);
+        return value;
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        Node<V> removed;
+        segment.lock.lock();
+        try {
+            removed = segment.map.remove(key);
+            if (removed != null) {
+                segment.weight -= removed.weight;
+                segment.count = segment.map.size();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        if (removed != null) {
+            notifyRemovals(add(null, key, removed.value, RemovalCause.EXPLICIT));
+        }
+    }
+
+    /**
+     * Remove every entry whose value matches.
+     */
+    public void invalidateIf(Predicate<? super V> predicate) {
+        for (Segment<K, V> segment : segments) {
+            List<Removal<K, V>> removals = null;
+            segment.lock.lock();
+            try {
+                Iterator<Map.Entry<K, Node<V>>> it = segment.map.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<K, Node<V>> entry = it.next();
+                    if (predicate.test(entry.getValue().value)) {
+                        it.remove();
+                        segment.weight -= entry.getValue().weight;
+                        removals = add(removals, entry.getKey(), entry.getValue().value, RemovalCause.EXPLICIT);
+                    }
+                }
+                segment.count = segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+            notifyRemovals(removals);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidateIf(value -> true);
+    }
+
+    /**
+     * Remove expired entries now instead of waiting for them to be read or evicted.
+     */
+    public void cleanUp() {
+        if (expireAfterWriteNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Segment<K, V> segment : segments) {
+            List<Removal<K, V>> removals = null;
+            segment.lock.lock();
+            try {
+                Iterator<Map.Entry<K, Node<V>>> it = segment.map.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<K, Node<V>> entry = it.next();
+                    if (isExpired(entry.getValue(), now)) {
+                        it.remove();
+                        segment.weight -= entry.getValue().weight;
+                        removals = add(removals, entry.getKey(), entry.getValue().value, RemovalCause.EXPIRED);
+                    }
+                }
+                segment.count = segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+            notifyRemovals(removals);
+        }
+    }
+
+    /**
+     * Number of entries. Read without locking, so it may be slightly stale under concurrent writes.
+     */
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), loadSuccesses.sum(), loadFailures.sum(),
+                loadNanos.sum(), evictions.sum());
+    }
+
+    // Read without touching the stats; refreshes the entry's recency
+    private V lookup(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        Node<V> expired = null;
+        segment.lock.lock();
+        try {
+            Node<V> node = segment.map.get(key);
+            if (node == null) {
+                return null;
+            }
+            if (!isExpired(node, System.nanoTime())) {
+                return node.value;
+            }
+            segment.map.remove(key);
+            segment.weight -= node.weight;
+            segment.count = segment.map.size();
+            expired = node;
+        } finally {
+            segment.lock.unlock();
+        }
+        notifyRemovals(add(null, key, expired.value, RemovalCause.EXPIRED));
+        return null;
+    }
+
+    private boolean isExpired(Node<V> node, long now) {
+        return expireAfterWriteNanos > 0 && now - node.writeNanos >= expireAfterWriteNanos;
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[(h * 0x9E3779B9 >>> 16) & segmentMask];
+    }
+
+    private void notifyRemovals(List<Removal<K, V>> removals) {
+        if (removals == null) {
+            return;
+        }
+        for (Removal<K, V> removal : removals) {
+            if (removal.cause == RemovalCause.SIZE || removal.cause == RemovalCause.EXPIRED) {
+                evictions.increment();
+            }
+            if (removalListener != null) {
+                removalListener.onRemoval(removal.key, removal.value, removal.cause);
+            }
+        }
+    }
+
+    private static <K, V> List<Removal<K, V>> add(List<Removal<K, V>> removals, K key, V value, RemovalCause cause) {
+        if (removals == null) {
+            removals = new ArrayList<>(2);
+        }
+        removals.add(new Removal<>(key, value, cause));
+        return removals;
+    }
+
+    private static final class Segment<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<K, Node<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maximumWeight;
+        private long weight;
+        private volatile int count;
+
+        private Segment(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        // Evict from the least recently used end until the segment fits; caller holds the lock
+        private List<Removal<K, V>> evictToFit(List<Removal<K, V>> removals) {
+            Iterator<Map.Entry<K, Node<V>>> eldest = map.entrySet().iterator();
+            while (weight > maximumWeight && eldest.hasNext()) {
+                Map.Entry<K, Node<V>> entry = eldest.next();
+                eldest.remove();
+                weight -= entry.getValue().weight;
+                removals = add(removals, entry.getKey(), entry.getValue().value, RemovalCause.SIZE);
+            }
+            return removals;
+        }
+    }
+
+    private record Node<V>(V value, int weight, long writeNanos) {
+    }
+
+    private record Removal<K, V>(K key, V value, RemovalCause cause) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V join(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public static final class Builder<K, V> {
+        private long maximumWeight = Long.MAX_VALUE;
+        private Weigher<? super K, ? super V> weigher = (key, value) -> 1;
+        private Duration expireAfterWrite;
+        private RemovalListener<? super K, ? super V> removalListener;
+        private int concurrencyLevel = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+
+        private Builder() {
+        }
+
+        public Builder<K, V> maximumSize(long maximumSize) {
+            this.maximumWeight = maximumSize;
+            this.weigher = (key, value) -> 1;
+            return this;
+        }
+
+        public Builder<K, V> maximumWeight(long maximumWeight, Weigher<? super K, ? super V> weigher) {
+            this.maximumWeight = maximumWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        public Builder<K, V> expireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        public Builder<K, V> removalListener(RemovalListener<? super K, ? super V> removalListener) {
+            this.removalListener = removalListener;
+            return this;
+        }
+
+        /**
+         * Number of lock stripes, rounded up to a power of two.
+         */
+        public Builder<K, V> concurrencyLevel(int concurrencyLevel) {
+            this.concurrencyLevel = Math.max(1, Integer.highestOneBit(Math.max(concurrencyLevel, 1) - 1) << 1);
+            return this;
+        }
+
+        public ConcurrentLruCache<K, V> build() {
+            if (maximumWeight < 1) {
+                throw new IllegalArgumentException("Maximum weight must be positive: " + maximumWeight);
+            }
+            return new ConcurrentLruCache<>(this);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package org.javarefresher.collections.primitive;
+
+@FunctionalInterface
+public interface IntObjectConsumer<V> {
+    void accept(int key, V value);
+}
@@ -0,0 +1,114 @@
+package org.javarefresher.collections.primitive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+    INT-KEYED MULTIMAP
+    Same semantics as Guava's ArrayListMultimap: each key maps to a list of values,
+    duplicates are kept in insertion order, and get returns an empty list for a missing key
+    Keys are stored unboxed in a LongObjectHashMap, so put/get/forEach never box the key
+ */
+public class IntObjectMultimap<V> {
+
+    private final LongObjectHashMap<List<V>> map;
+    private int size;
+
+    public IntObjectMultimap() {
+        this.map = new LongObjectHashMap<>();
+    }
+
+    public IntObjectMultimap(int expectedKeys) {
+        this.map = new LongObjectHashMap<>(expectedKeys);
+    }
+
+    /**
+     * Add a value under the key. Always succeeds, as in ArrayListMultimap.
+     */
+    public boolean put(int key, V value) {
+        List<V> values = map.get(key);
+        if (values == null) {
+            values = new ArrayList<>(3);
+            map.put(key, values);
+        }
+        values.add(value);
+        size++;
+        return true;
+    }
+
+    /**
+     * The values for the key, in insertion order; empty if the key is absent. Read-only.
+     */
+    public List<V> get(int key) {
+        List<V> values = map.get(key);
+        return values == null ? Collections.emptyList() : Collections.unmodifiableList(values);
+    }
+
+    public boolean containsKey(int key) {
+        return map.containsKey(key);
+    }
+
+    public boolean containsEntry(int key, V value) {
+        List<V> values = map.get(key);
+        return values != null && values.contains(value);
+    }
+
+    /**
+     * Remove one occurrence of the value under the key.
+     */
+    public boolean remove(int key, V value) {
+        List<V> values = map.get(key);
+        if (values == null || !values.remove(value)) {
+            return false;
+        }
+        size--;
+        if (values.isEmpty()) {
+            map.remove(key);
+        }
+        return true;
+    }
+
+    /**
+     * Remove the key and return all its values.
+     */
+    public List<V> removeAll(int key) {
+        List<V> values = map.remove(key);
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        size -= values.size();
+        return values;
+    }
+
+    /**
+     * Visit every key/value pair; a key with several values is visited once per value.
+     */
+    public void forEach(IntObjectConsumer<? super V> action) {
+        map.forEach((key, values) -> {
+            for (int i = 0; i < values.size(); i++) {
+                action.accept((int) key, values.get(i));
+            }
+        });
+    }
+
+    /**
+     * Number of key/value pairs, as in Multimap.size().
+     */
+    public int size() {
+        return size;
+    }
+
+    public int keyCount() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+}
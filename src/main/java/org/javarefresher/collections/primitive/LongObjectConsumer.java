@@ -0,0 +1,6 @@
+package org.javarefresher.collections.primitive;
+
+@FunctionalInterface
+public interface LongObjectConsumer<V> {
+    void accept(long key, V value);
+}
@@ -0,0 +1,227 @@
+package org.javarefresher.collections.primitive;
+
+import java.util.Arrays;
+
+/*
+    LONG -> OBJECT HASHMAP
+    Open addressing with linear probing over parallel long[] keys / Object[] values
+    No Entry nodes and no Long boxing: get, put, remove and forEach never allocate
+    (put allocates only when the table grows)
+    Capacity is a power of two, resized at load factor 0.5 to keep probe sequences short
+    Key 0 marks a free slot, so a 0 key is kept in its own field
+    remove shifts later entries of the probe run back into the gap, so there are no
+    tombstones and lookups do not slow down after many removals
+    Like HashMap: one value per key, null values allowed, get returns null when absent,
+    iteration order is unspecified
+ */
+public class LongObjectHashMap<V> {
+
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public LongObjectHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public V get(long key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : null;
+        }
+        int index = slotOf(key);
+        return index < 0 ? null : value(index);
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : slotOf(key) >= 0;
+    }
+
+    /**
+     * Associate the value with the key, returning the previous value or null.
+     */
+    public V put(long key, V value) {
+        if (key == 0) {
+            V previous = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+
+        int index = hash(key) & mask;
+        while (true) {
+            long existing = keys[index];
+            if (existing == 0) {
+                keys[index] = key;
+                values[index] = value;
+                if (++size > resizeThreshold) {
+                    rehash(keys.length << 1);
+                }
+                return null;
+            }
+            if (existing == key) {
+                V previous = value(index);
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Remove the key, returning its value or null.
+     */
+    public V remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return null;
+            }
+            V previous = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return previous;
+        }
+
+        int index = slotOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V previous = value(index);
+        closeGap(index);
+        size--;
+        return previous;
+    }
+
+    public void forEach(LongObjectConsumer<? super V> action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], value(i));
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+
+    // Slot holding the key, or -1
+    private int slotOf(long key) {
+        int index = hash(key) & mask;
+        while (true) {
+            long existing = keys[index];
+            if (existing == key) {
+                return index;
+            }
+            if (existing == 0) {
+                return -1;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    // Backward-shift deletion: move later entries of the run into the gap unless they would
+    // end up before their home slot
+    private void closeGap(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            long key = keys[index];
+            if (key == 0) {
+                break;
+            }
+            int home = hash(key) & mask;
+            boolean homeBetweenGapAndIndex = gap <= index
+                    ? gap < home && home <= index
+                    : gap < home || home <= index;
+            if (!homeBetweenGapAndIndex) {
+                keys[gap] = key;
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int index = hash(key) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int index) {
+        return (V) values[index];
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR) + 1;
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(needed - 1) << 1);
+    }
+
+    // Fibonacci hashing spreads sequential ids across the table; package-private for tests
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
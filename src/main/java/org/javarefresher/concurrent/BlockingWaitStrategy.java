@@ -0,0 +1,54 @@
+package org.javarefresher.concurrent;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/*
+    Waiters register themselves before re-checking the condition, and signallers only take
+    the lock when someone is registered. Either the waiter sees the change, or the signaller
+    sees the waiter and wakes it - so no wake-up is lost, and the uncontended path never locks.
+ */
+final class BlockingWaitStrategy implements WaitStrategy {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    @Override
+    public void await(BooleanSupplier condition) throws InterruptedException {
+        if (condition.getAsBoolean()) {
+            return;
+        }
+        lock.lockInterruptibly();
+        try {
+            waiters.incrementAndGet();
+            try {
+                while (!condition.getAsBoolean()) {
+                    changed.await();
+                }
+            } finally {
+                waiters.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void signalAll() {
+        // The queue publishes with release stores only; order that store before reading waiters
+        VarHandle.fullFence();
+        if (waiters.get() == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package org.javarefresher.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+/*
+    Bounded multi-producer multi-consumer queue of ints, lock-free and array-backed.
+    (Dmitry Vyukov's bounded MPMC queue.)
+
+    Every slot has a sequence number that says whose turn it is:
+      sequence == position       -> empty, the producer claiming this position may write
+      sequence == position + 1   -> full, the consumer claiming this position may read
+    Producers and consumers claim positions with a CAS on tail / head, write or read the
+    slot, then publish it by advancing its sequence by one (after a write) or by capacity
+    (after a read, making it the next lap's empty slot).
+
+    Compared to SharedQueue (synchronized + wait/notifyAll over a LinkedList<Integer>):
+    - no monitor: producers and consumers only contend on their own counter, and only
+      with a CAS, never by blocking each other
+    - no boxing and no node allocation: values live in a preallocated int[]
+    - waiters are only woken when there is a waiter, and how they wait is pluggable
+    - drainTo claims a whole run of ready slots with a single CAS
+ */
+public final class IntRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final int[] values;
+    private final AtomicLongArray sequences;
+    private final PaddedCounter head = new PaddedCounter();
+    private final PaddedCounter tail = new PaddedCounter();
+    private final WaitStrategy waitStrategy;
+
+    // Built once so the blocking paths do not allocate a lambda per call
+    private final BooleanSupplier notFull = () -> !isFull();
+    private final BooleanSupplier notEmpty = () -> !isEmpty();
+
+    /**
+     * @param requestedCapacity rounded up to the next power of two, and to at least 2
+     */
+    public IntRingBuffer(int requestedCapacity, WaitStrategy waitStrategy) {
+        if (requestedCapacity < 1 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + requestedCapacity);
+        }
+        this.capacity = Math.max(2, Integer.highestOneBit(requestedCapacity - 1) << 1);
+        this.mask = capacity - 1;
+        this.values = new int[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Add a value if there is room. Never waits.
+     */
+    public boolean offer(int value) {
+        long position = claimTail();
+        if (position < 0) {
+            return false;
+        }
+        write(position, value);
+        return true;
+    }
+
+    /**
+     * Add a value, waiting with the wait strategy while the queue is full.
+     */
+    public void put(int value) throws InterruptedException {
+        long position;
+        while ((position = claimTail()) < 0) {
+            waitStrategy.await(notFull);
+        }
+        write(position, value);
+    }
+
+    /**
+     * Remove and return the oldest value, or emptyValue if the queue is empty. Never waits.
+     */
+    public int poll(int emptyValue) {
+        long position = claimHead();
+        return position < 0 ? emptyValue : read(position);
+    }
+
+    /**
+     * Remove and return the oldest value, waiting with the wait strategy while the queue is empty.
+     */
+    public int take() throws InterruptedException {
+        long position;
+        while ((position = claimHead()) < 0) {
+            waitStrategy.await(notEmpty);
+        }
+        return read(position);
+    }
+
+    /**
+     * Remove up to maxElements values that are ready, oldest first, and pass them to the
+     * consumer. The whole run is claimed with one CAS. Never waits; returns how many were drained.
+     */
+    public int drainTo(IntConsumer consumer, int maxElements) {
+        while (true) {
+            long position = head.get();
+            int ready = readyRun(position, maxElements);
+            if (ready == 0) {
+                return 0;
+            }
+            if (head.compareAndSet(position, position + ready)) {
+                for (int i = 0; i < ready; i++) {
+                    consumer.accept(release(position + i));
+                }
+                waitStrategy.signalAll();
+                return ready;
+            }
+        }
+    }
+
+    /**
+     * Same as drainTo(IntConsumer, int), copying into the array from offset.
+     */
+    public int drainTo(int[] target, int offset, int maxElements) {
+        while (true) {
+            long position = head.get();
+            int ready = readyRun(position, Math.min(maxElements, target.length - offset));
+            if (ready == 0) {
+                return 0;
+            }
+            if (head.compareAndSet(position, position + ready)) {
+                for (int i = 0; i < ready; i++) {
+                    target[offset + i] = release(position + i);
+                }
+                waitStrategy.signalAll();
+                return ready;
+            }
+        }
+    }
+
+    /**
+     * Claim the next position to write, or return -1 if the queue is full.
+     */
+    private long claimTail() {
+        long position = tail.get();
+        while (true) {
+            long difference = sequences.getAcquire((int) position & mask) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Claim the next position to read, or return -1 if the queue is empty.
+     */
+    private long claimHead() {
+        long position = head.get();
+        while (true) {
+            long difference = sequences.getAcquire((int) position & mask) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return -1;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    private void write(long position, int value) {
+        int index = (int) position & mask;
+        values[index] = value;
+        sequences.setRelease(index, position + 1);
+        waitStrategy.signalAll();
+    }
+
+    private int read(long position) {
+        int value = release(position);
+        waitStrategy.signalAll();
+        return value;
+    }
+
+    /**
+     * Read a claimed slot and hand it back to producers for the next lap.
+     */
+    private int release(long position) {
+        int index = (int) position & mask;
+        int value = values[index];
+        sequences.setRelease(index, position + capacity);
+        return value;
+    }
+
+    /**
+     * Number of consecutive slots from position that are full, up to max.
+     */
+    private int readyRun(long position, int max) {
+        int ready = 0;
+        while (ready < max && sequences.getAcquire((int) (position + ready) & mask) == position + ready + 1) {
+            ready++;
+        }
+        return ready;
+    }
+
+    public boolean isEmpty() {
+        long position = head.get();
+        return sequences.getAcquire((int) position & mask) != position + 1;
+    }
+
+    public boolean isFull() {
+        long position = tail.get();
+        return sequences.getAcquire((int) position & mask) != position;
+    }
+
+    /**
+     * Approximate number of values in the queue; exact only when no other thread is using it.
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /*
+        head and tail are written by different threads; padding keeps them on separate cache
+        lines so a producer's CAS does not invalidate the line consumers are spinning on.
+     */
+    @SuppressWarnings("unused")
+    private static final class PaddedCounter extends AtomicLong {
+        private static final long serialVersionUID = 1L;
+        private long p1, p2, p3, p4, p5, p6, p7;
+    }
+}
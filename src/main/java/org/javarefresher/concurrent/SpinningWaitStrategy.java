@@ -0,0 +1,20 @@
+package org.javarefresher.concurrent;
+
+import java.util.function.BooleanSupplier;
+
+final class SpinningWaitStrategy implements WaitStrategy {
+
+    // Check for interruption every so often rather than on every spin
+    private static final int INTERRUPT_CHECK_MASK = 0x3FF;
+
+    @Override
+    public void await(BooleanSupplier condition) throws InterruptedException {
+        int spins = 0;
+        while (!condition.getAsBoolean()) {
+            if ((++spins & INTERRUPT_CHECK_MASK) == 0 && Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.javarefresher.concurrent;
+
+import java.util.function.BooleanSupplier;
+
+/*
+    How a thread waits on a lock-free queue that is full (producer) or empty (consumer).
+    spinning - busy-spins with Thread.onSpinWait(); lowest latency, burns a core per waiter
+    yielding - spins briefly, then Thread.yield(); low latency, gives the core to other threads
+    blocking - parks on a condition until the other side signals; no CPU while waiting,
+               but each hand-off to a parked thread costs a wake-up
+ */
+public interface WaitStrategy {
+
+    /**
+     * Wait until the condition holds. The condition is a hint: callers retry their
+     * operation afterwards, and wait again if another thread got there first.
+     */
+    void await(BooleanSupplier condition) throws InterruptedException;
+
+    /**
+     * Called after every successful put or take, so blocked waiters can re-check.
+     */
+    default void signalAll() {
+    }
+
+    static WaitStrategy spinning() {
+        return new SpinningWaitStrategy();
+    }
+
+    static WaitStrategy yielding() {
+        return new YieldingWaitStrategy();
+    }
+
+    static WaitStrategy blocking() {
+        return new BlockingWaitStrategy();
+    }
+}
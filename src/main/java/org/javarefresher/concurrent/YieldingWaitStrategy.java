@@ -0,0 +1,24 @@
+package org.javarefresher.concurrent;
+
+import java.util.function.BooleanSupplier;
+
+final class YieldingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public void await(BooleanSupplier condition) throws InterruptedException {
+        int spins = 0;
+        while (!condition.getAsBoolean()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (spins < SPIN_TRIES) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.javarefresher.pipeline;
+
+/*
+    What Pipeline.submit does when the queue is full.
+    BLOCK       - the producer waits for space; backpressure all the way to the caller
+    DROP_OLDEST - the oldest queued item is discarded to make room; newest data wins
+    REJECT      - the new item is refused (submit returns false) and counted as rejected
+ */
+public enum OverflowPolicy {
+    BLOCK, DROP_OLDEST, REJECT
+}
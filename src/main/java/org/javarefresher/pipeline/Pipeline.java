@@ -0,0 +1,372 @@
+package org.javarefresher.pipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/*
+    Bounded producer/consumer pipeline.
+    - Producers call submit(); a full queue is handled by the OverflowPolicy.
+    - Workers take items in batches: wait for one item, then drainTo up to maxBatchSize - 1
+      more, and hand the whole batch to the handler in one call.
+    - The worker count scales between minWorkers and maxWorkers: a worker is added when the
+      queue holds more than scaleUpDepth items per worker, and a worker above the minimum
+      retires after idleTimeout without work.
+    - Queue depth, workers, submitted / processed / dropped / rejected counts, queue wait time
+      and throughput are available from stats(), and as Micrometer meters via bindTo().
+    - A batch that throws anything is counted as failed and passed to the errorHandler
+      (by default logged); the worker carries on with the next batch.
+    - Submits and close() check the running flag under a shared lock, so once close() has
+      started no item can be queued that the workers would miss.
+
+    Pipeline<String> pipeline = Pipeline.<String>builder("lines", batch -> write(batch))
+            .capacity(1000).overflowPolicy(OverflowPolicy.BLOCK).maxBatchSize(100)
+            .workers(1, 4).build();
+ */
+public final class Pipeline<T> implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(Pipeline.class);
+
+    private static final long SHUTDOWN_POLL_MILLIS = 100;
+
+    private final String name;
+    private final Consumer<List<T>> handler;
+    private final Consumer<Throwable> errorHandler;
+    private final BlockingQueue<Item<T>> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxBatchSize;
+    private final int minWorkers;
+    private final int maxWorkers;
+    private final int scaleUpDepth;
+    private final long idleTimeoutNanos;
+
+    private final AtomicInteger workerCount = new AtomicInteger();
+    private final Set<Thread> workerThreads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger workerSequence = new AtomicInteger();
+    private volatile boolean running = true;
+    // Submits hold the read lock while they check running and queue; close() takes the write lock
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private final long startedNanos = System.nanoTime();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private Pipeline(Builder<T> builder) {
+        this.name = builder.name;
+        this.handler = builder.handler;
+        this.errorHandler = builder.errorHandler;
+        this.queue = new ArrayBlockingQueue<>(builder.capacity);
+        this.overflowPolicy = builder.overflowPolicy;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.minWorkers = builder.minWorkers;
+        this.maxWorkers = builder.maxWorkers;
+        this.scaleUpDepth = builder.scaleUpDepth;
+        this.idleTimeoutNanos = builder.idleTimeout.toNanos();
+
+        for (int i = 0; i < minWorkers; i++) {
+            workerCount.incrementAndGet();
+            startWorker();
+        }
+    }
+
+    public static <T> Builder<T> builder(String name, Consumer<List<T>> handler) {
+        return new Builder<>(name, handler);
+    }
+
+    /**
+     * Queue an item. Returns false if it was rejected (REJECT policy with a full queue);
+     * with BLOCK this waits for space, with DROP_OLDEST it always succeeds.
+     * Throws IllegalStateException once close() has been called.
+     */
+    public boolean submit(T value) throws InterruptedException {
+        Item<T> item = new Item<>(value, System.nanoTime());
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                // Short waits, each releasing the lock, so a waiting close() can proceed
+                boolean queued = false;
+                while (!queued) {
+                    queued = offer(item, SHUTDOWN_POLL_MILLIS);
+                }
+            }
+            case DROP_OLDEST -> {
+                stateLock.readLock().lock();
+                try {
+                    checkRunning();
+                    while (!queue.offer(item)) {
+                        if (queue.poll() != null) {
+                            dropped.increment();
+                        }
+                    }
+                } finally {
+                    stateLock.readLock().unlock();
+                }
+            }
+            case REJECT -> {
+                if (!offer(item, 0)) {
+                    rejected.increment();
+                    return false;
+                }
+            }
+        }
+
+        submitted.increment();
+        maybeAddWorker();
+        return true;
+    }
+
+    /**
+     * Stop accepting items, let the workers finish what is queued, and wait for them.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        stateLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        // Workers may start another worker while they drain the queue
+        while (!workerThreads.isEmpty()) {
+            for (Thread worker : workerThreads) {
+                worker.join();
+            }
+        }
+    }
+
+    private boolean offer(Item<T> item, long timeoutMillis) throws InterruptedException {
+        stateLock.readLock().lockInterruptibly();
+        try {
+            checkRunning();
+            return queue.offer(item, timeoutMillis, TimeUnit.MILLISECONDS);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    private void checkRunning() {
+        if (!running) {
+            throw new IllegalStateException("Pipeline " + name + " is closed");
+        }
+    }
+
+    public PipelineStats stats() {
+        long waits = waitCount.sum();
+        long done = processed.sum();
+        double elapsedSeconds = (System.nanoTime() - startedNanos) / 1e9;
+        return new PipelineStats(
+                queue.size(),
+                workerCount.get(),
+                submitted.sum(),
+                done,
+                dropped.sum(),
+                rejected.sum(),
+                failedBatches.sum(),
+                waits == 0 ? 0 : waitNanos.sum() / 1e6 / waits,
+                maxWaitNanos.get() / 1e6,
+                elapsedSeconds > 0 ? done / elapsedSeconds : 0);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pipeline.queue.depth", queue, BlockingQueue::size)
+                .tag("pipeline", name).register(registry);
+        Gauge.builder("pipeline.workers", workerCount, AtomicInteger::get)
+                .tag("pipeline", name).register(registry);
+        FunctionCounter.builder("pipeline.submitted", submitted, LongAdder::sum)
+                .tag("pipeline", name).register(registry);
+        // Throughput is the rate of this counter
+        FunctionCounter.builder("pipeline.processed", processed, LongAdder::sum)
+                .tag("pipeline", name).register(registry);
+        FunctionCounter.builder("pipeline.dropped", dropped, LongAdder::sum)
+                .tag("pipeline", name).register(registry);
+        FunctionCounter.builder("pipeline.rejected", rejected, LongAdder::sum)
+                .tag("pipeline", name).register(registry);
+        FunctionCounter.builder("pipeline.failed.batches", failedBatches, LongAdder::sum)
+                .tag("pipeline", name).register(registry);
+        FunctionTimer.builder("pipeline.wait", this, p -> p.waitCount.sum(), p -> p.waitNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Time items spend queued before a worker takes them")
+                .tag("pipeline", name).register(registry);
+    }
+
+    private void maybeAddWorker() {
+        int current = workerCount.get();
+        if (current < maxWorkers && queue.size() > (long) current * scaleUpDepth
+                && workerCount.compareAndSet(current, current + 1)) {
+            startWorker();
+        }
+    }
+
+    private boolean tryRetire() {
+        int current = workerCount.get();
+        return current > minWorkers && workerCount.compareAndSet(current, current - 1);
+    }
+
+    private void startWorker() {
+        Thread worker = new Thread(this::work, name + "-worker-" + workerSequence.incrementAndGet());
+        worker.setDaemon(true);
+        workerThreads.add(worker);
+        worker.start();
+    }
+
+    private void work() {
+        List<Item<T>> items = new ArrayList<>(maxBatchSize);
+        List<T> batch = new ArrayList<>(maxBatchSize);
+        long idleNanos = 0;
+        boolean retired = false;
+        try {
+            while (true) {
+                Item<T> first = queue.poll(SHUTDOWN_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // Nothing can be queued once running is false, so an empty queue stays empty
+                    if (!running && queue.isEmpty()) {
+                        return;
+                    }
+                    idleNanos += TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_POLL_MILLIS);
+                    if (idleNanos >= idleTimeoutNanos && tryRetire()) {
+                        retired = true;
+                        return;
+                    }
+                    continue;
+                }
+                idleNanos = 0;
+
+                items.add(first);
+                queue.drainTo(items, maxBatchSize - 1);
+                long now = System.nanoTime();
+                for (Item<T> item : items) {
+                    recordWait(now - item.enqueuedNanos());
+                    batch.add(item.value());
+                }
+
+                try {
+                    handler.accept(batch);
+                    processed.add(batch.size());
+                } catch (Throwable e) {
+                    failedBatches.increment();
+                    errorHandler.accept(e);
+                } finally {
+                    items.clear();
+                    batch.clear();
+                }
+                maybeAddWorker();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // tryRetire already gave up this worker's slot; any other exit, including an
+            // errorHandler that threw, gives it up here and is replaced while running or while
+            // close() still has queued items to drain. The replacement is registered before
+            // this worker leaves, so close() waits for it.
+            if (!retired && workerCount.decrementAndGet() < minWorkers && (running || !queue.isEmpty())
+                    && !Thread.currentThread().isInterrupted()) {
+                workerCount.incrementAndGet();
+                startWorker();
+            }
+            workerThreads.remove(Thread.currentThread());
+        }
+    }
+
+    private void recordWait(long nanos) {
+        waitCount.increment();
+        waitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private record Item<T>(T value, long enqueuedNanos) {
+    }
+
+    public static final class Builder<T> {
+        private final String name;
+        private final Consumer<List<T>> handler;
+        private Consumer<Throwable> errorHandler;
+        private int capacity = 1000;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private int maxBatchSize = 100;
+        private int minWorkers = 1;
+        private int maxWorkers = 1;
+        private int scaleUpDepth = 100;
+        private Duration idleTimeout = Duration.ofSeconds(30);
+
+        private Builder(String name, Consumer<List<T>> handler) {
+            this.name = name;
+            this.handler = handler;
+            this.errorHandler = e -> log.error("Pipeline {} failed to handle a batch", name, e);
+        }
+
+        public Builder<T> capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder<T> overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        public Builder<T> maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder<T> workers(int minWorkers, int maxWorkers) {
+            this.minWorkers = minWorkers;
+            this.maxWorkers = maxWorkers;
+            return this;
+        }
+
+        /**
+         * Queued items per worker above which another worker is started.
+         */
+        public Builder<T> scaleUpDepth(int scaleUpDepth) {
+            this.scaleUpDepth = scaleUpDepth;
+            return this;
+        }
+
+        /**
+         * How long a worker above minWorkers waits for work before it retires.
+         */
+        public Builder<T> idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        public Builder<T> errorHandler(Consumer<Throwable> errorHandler) {
+            this.errorHandler = errorHandler;
+            return this;
+        }
+
+        public Pipeline<T> build() {
+            if (capacity < 1 || maxBatchSize < 1 || minWorkers < 1 || maxWorkers < minWorkers || scaleUpDepth < 1) {
+                throw new IllegalArgumentException("Invalid pipeline settings for " + name);
+            }
+            return new Pipeline<>(this);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.javarefresher.pipeline;
+
+/**
+ * Point-in-time view of a Pipeline's counters.
+ * averageWaitMillis is the mean time items spent queued before a worker took them;
+ * throughputPerSecond is processed items per second since the pipeline started.
+ */
+public record PipelineStats(
+        int queueDepth,
+        int workers,
+        long submitted,
+        long processed,
+        long dropped,
+        long rejected,
+        long failedBatches,
+        double averageWaitMillis,
+        double maxWaitMillis,
+        double throughputPerSecond) {
+}
@@ -0,0 +1,104 @@
+package org.javarefresher.text;
+
+import java.util.Arrays;
+
+/*
+    TEXT BUFFER
+    Reusable, growable char[] output for TextTransforms. clear() keeps the array, so one buffer
+    per thread serves any number of records without allocating once it has grown to the longest
+    output. Integers are appended digit by digit, without Integer.toString.
+    It is a CharSequence, so the result can be read, compared or appended elsewhere without
+    copying; toString() copies it into a String.
+ */
+public final class TextBuffer implements CharSequence {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private char[] chars;
+    private int length;
+
+    public TextBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TextBuffer(int initialCapacity) {
+        chars = new char[Math.max(initialCapacity, 1)];
+    }
+
+    public TextBuffer append(char c) {
+        ensureCapacity(length + 1);
+        chars[length++] = c;
+        return this;
+    }
+
+    public TextBuffer append(char[] source, int offset, int count) {
+        ensureCapacity(length + count);
+        System.arraycopy(source, offset, chars, length, count);
+        length += count;
+        return this;
+    }
+
+    /**
+     * Append the decimal digits of a non-negative value.
+     */
+    public TextBuffer append(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        ensureCapacity(length + digits);
+        int end = length + digits;
+        for (int i = end - 1; i >= length; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length = end;
+        return this;
+    }
+
+    public void clear() {
+        length = 0;
+    }
+
+    /**
+     * The backing array; only the first length() chars are valid.
+     */
+    public char[] array() {
+        return chars;
+    }
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(minCapacity, chars.length + (chars.length >> 1)));
+        }
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length);
+        }
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
@@ -0,0 +1,9 @@
+package org.javarefresher.text;
+
+/**
+ * One record in, transformed text appended to out. Implementations must not keep either argument.
+ */
+@FunctionalInterface
+public interface TextTransform {
+    void apply(CharSequence input, TextBuffer out);
+}
@@ -0,0 +1,142 @@
+package org.javarefresher.text;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/*
+    TEXT TRANSFORMS
+    Streaming versions of Done.reverseWords and the run-length encoding in Example. They read any
+    CharSequence (String, StringBuilder, CharBuffer) or a char[] range and append to a reusable
+    TextBuffer, so there is no String, StringBuilder or array per word or per run:
+    - reverseWords: reverse each run of letters; dots, commas and spaces stay where they are
+      "yM, eman, si. arqI. zizA" -> "My, name, is. Iqra. Aziz"
+    - runLengthEncode / runLengthDecode: "aaaabbbbb" <-> "a4b5"
+    - transformAll: apply a transform to many records in parallel, one TextBuffer per thread
+ */
+public final class TextTransforms {
+
+    public static final TextTransform REVERSE_WORDS = TextTransforms::reverseWords;
+    public static final TextTransform RUN_LENGTH_ENCODE = TextTransforms::runLengthEncode;
+    public static final TextTransform RUN_LENGTH_DECODE = TextTransforms::runLengthDecode;
+
+    private static final ThreadLocal<TextBuffer> BUFFERS = ThreadLocal.withInitial(TextBuffer::new);
+
+    private TextTransforms() {
+    }
+
+    /**
+     * Append input to out with every word reversed. Words are runs of anything other than the
+     * delimiters '.', ',' and ' ', which are copied unchanged.
+     */
+    public static void reverseWords(CharSequence input, TextBuffer out) {
+        int length = input.length();
+        out.ensureCapacity(out.length() + length);
+        int i = 0;
+        while (i < length) {
+            char c = input.charAt(i);
+            if (isDelimiter(c)) {
+                out.append(c);
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < length && !isDelimiter(input.charAt(end))) {
+                end++;
+            }
+            for (int j = end - 1; j >= i; j--) {
+                out.append(input.charAt(j));
+            }
+            i = end;
+        }
+    }
+
+    /**
+     * reverseWords over chars[offset, offset + length), rewriting the array in place.
+     */
+    public static void reverseWordsInPlace(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            if (isDelimiter(chars[i])) {
+                i++;
+                continue;
+            }
+            int wordEnd = i + 1;
+            while (wordEnd < end && !isDelimiter(chars[wordEnd])) {
+                wordEnd++;
+            }
+            for (int lo = i, hi = wordEnd - 1; lo < hi; lo++, hi--) {
+                char temp = chars[lo];
+                chars[lo] = chars[hi];
+                chars[hi] = temp;
+            }
+            i = wordEnd;
+        }
+    }
+
+    /**
+     * Append each run of equal chars as the char followed by the run length: "aaab" -> "a3b1".
+     * Digits in the input would make the output ambiguous, so they are rejected.
+     */
+    public static void runLengthEncode(CharSequence input, TextBuffer out) {
+        int length = input.length();
+        int i = 0;
+        while (i < length) {
+            char c = input.charAt(i);
+            if (isDigit(c)) {
+                throw new IllegalArgumentException("Cannot run-length encode digit '" + c + "' at index " + i);
+            }
+            int end = i + 1;
+            while (end < length && input.charAt(end) == c) {
+                end++;
+            }
+            out.append(c).append(end - i);
+            i = end;
+        }
+    }
+
+    /**
+     * Inverse of runLengthEncode: "a3b1" -> "aaab".
+     */
+    public static void runLengthDecode(CharSequence input, TextBuffer out) {
+        int length = input.length();
+        int i = 0;
+        while (i < length) {
+            char c = input.charAt(i++);
+            if (isDigit(c) || i == length || !isDigit(input.charAt(i))) {
+                throw new IllegalArgumentException("Expected a char followed by a count at index " + (i - 1));
+            }
+            int count = 0;
+            while (i < length && isDigit(input.charAt(i))) {
+                count = Math.addExact(Math.multiplyExact(count, 10), input.charAt(i++) - '0');
+            }
+            out.ensureCapacity(out.length() + count);
+            for (int n = 0; n < count; n++) {
+                out.append(c);
+            }
+        }
+    }
+
+    /**
+     * Transform every record on the common fork-join pool. Each thread reuses one TextBuffer,
+     * so the only allocation per record is its result String.
+     */
+    public static String[] transformAll(List<? extends CharSequence> records, TextTransform transform) {
+        String[] results = new String[records.size()];
+        IntStream.range(0, results.length).parallel().forEach(i -> {
+            TextBuffer buffer = BUFFERS.get();
+            buffer.clear();
+            transform.apply(records.get(i), buffer);
+            results[i] = buffer.toString();
+        });
+        return results;
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == ' ' || c == '.' || c == ',';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -3,12 +3,14 @@ package springboot;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class with Spring Boot configuration.
  */
 @SpringBootApplication
 @EnableJpaRepositories
+@EnableScheduling
 public class AssessmentApplication {
 
     public static void main(String[] args) {
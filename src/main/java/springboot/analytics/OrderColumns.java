@@ -0,0 +1,343 @@
+package springboot.analytics;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import springboot.model.Order.OrderStatus;
+
+/**
+ * Column-oriented, immutable snapshot of every order for reporting queries.
+ * One primitive array per column: amount as cents in a long, order date as epoch millis
+ * (the LocalDateTime read as UTC), status as a byte code into OrderStatus. Queries are single
+ * passes over the arrays with branch-free predicates, so the JIT can unroll and vectorize them
+ * and no BigDecimal or LocalDateTime is created per row.
+ * A snapshot is saved to and loaded from a memory-mapped file, so a restart can pick up the
+ * last snapshot with one bulk copy per column instead of scanning the orders tables. The file
+ * carries the source version the snapshot was built from (see OrderAnalyticsRepository), so a
+ * snapshot of some other database is never picked up.
+ */
+public final class OrderColumns {
+
+    private static final int MAGIC = 0x4F524443; // "ORDC"
+    private static final int VERSION = 2;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int MAX_DAYS = 3660;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    /**
+     * Row predicate: inclusive amount and date bounds, plus a bit per OrderStatus ordinal.
+     */
+    public record Filter(long minAmountCents, long maxAmountCents, long fromMillis, long toMillis, int statusMask) {
+
+        public static final int ALL_STATUSES = (1 << STATUSES.length) - 1;
+
+        public static Filter all() {
+            return new Filter(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, ALL_STATUSES);
+        }
+
+        public static int mask(OrderStatus status) {
+            return status == null ? ALL_STATUSES : 1 << status.ordinal();
+        }
+    }
+
+    /**
+     * Number of matching orders and the sum of their amounts in cents.
+     */
+    public record Aggregate(long count, long amountCents) {
+    }
+
+    private final int size;
+    private final long[] ids;
+    private final long[] amountCents;
+    private final long[] orderDateMillis;
+    private final byte[] statuses;
+    private final Instant createdAt;
+    private final String sourceVersion;
+
+    private OrderColumns(int size, long[] ids, long[] amountCents, long[] orderDateMillis,
+                         byte[] statuses, Instant createdAt, String sourceVersion) {
+        this.size = size;
+        this.ids = ids;
+        this.amountCents = amountCents;
+        this.orderDateMillis = orderDateMillis;
+        this.statuses = statuses;
+        this.createdAt = createdAt;
+        this.sourceVersion = sourceVersion;
+    }
+
+    public static OrderColumns empty() {
+        return new OrderColumns(0, new long[0], new long[0], new long[0], new byte[0], Instant.EPOCH, "");
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getSourceVersion() {
+        return sourceVersion;
+    }
+
+    public static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Count and total of the orders matching the filter.
+     */
+    public Aggregate aggregate(Filter filter) {
+        long minAmount = filter.minAmountCents(), maxAmount = filter.maxAmountCents();
+        long from = filter.fromMillis(), to = filter.toMillis();
+        int mask = filter.statusMask();
+        long count = 0, sum = 0;
+        for (int i = 0; i < size; i++) {
+            long amount = amountCents[i];
+            long date = orderDateMillis[i];
+            // Non-short-circuit & keeps the loop free of branches
+            boolean match = amount >= minAmount & amount <= maxAmount & date >= from & date <= to
+                    & ((mask >>> statuses[i]) & 1) != 0;
+            count += match ? 1 : 0;
+            sum += match ? amount : 0;
+        }
+        return new Aggregate(count, sum);
+    }
+
+    /**
+     * Count and total of the matching orders per status, indexed by OrderStatus ordinal.
+     */
+    public Aggregate[] aggregateByStatus(Filter filter) {
+        long minAmount = filter.minAmountCents(), maxAmount = filter.maxAmountCents();
+        long from = filter.fromMillis(), to = filter.toMillis();
+        int mask = filter.statusMask();
+        long[] counts = new long[STATUSES.length];
+        long[] sums = new long[STATUSES.length];
+        for (int i = 0; i < size; i++) {
+            long amount = amountCents[i];
+            long date = orderDateMillis[i];
+            int status = statuses[i];
+            boolean match = amount >= minAmount & amount <= maxAmount & date >= from & date <= to
+                    & ((mask >>> status) & 1) != 0;
+            counts[status] += match ? 1 : 0;
+            sums[status] += match ? amount : 0;
+        }
+
+        Aggregate[] result = new Aggregate[STATUSES.length];
+        for (int s = 0; s < result.length; s++) {
+            result[s] = new Aggregate(counts[s], sums[s]);
+        }
+        return result;
+    }
+
+    /**
+     * Count and total of the matching orders per day from startDate to endDate inclusive,
+     * indexed by days since startDate. The filter's date bounds are narrowed to those days.
+     */
+    public Aggregate[] aggregateByDay(Filter filter, LocalDate startDate, LocalDate endDate) {
+        long firstDay = startDate.toEpochDay();
+        int days = (int) Math.min(endDate.toEpochDay() - firstDay + 1, Integer.MAX_VALUE);
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Date range must cover 1 to " + MAX_DAYS + " days");
+        }
+        long minAmount = filter.minAmountCents(), maxAmount = filter.maxAmountCents();
+        long from = Math.max(filter.fromMillis(), firstDay * MILLIS_PER_DAY);
+        long to = Math.min(filter.toMillis(), (firstDay + days) * MILLIS_PER_DAY - 1);
+        int mask = filter.statusMask();
+
+        // Slot 0 collects the rows that do not match, so the loop never branches
+        long[] counts = new long[days + 1];
+        long[] sums = new long[days + 1];
+        for (int i = 0; i < size; i++) {
+            long amount = amountCents[i];
+            long date = orderDateMillis[i];
+            boolean match = amount >= minAmount & amount <= maxAmount & date >= from & date <= to
+                    & ((mask >>> statuses[i]) & 1) != 0;
+            int slot = match ? (int) (Math.floorDiv(date, MILLIS_PER_DAY) - firstDay) + 1 : 0;
+            counts[slot]++;
+            sums[slot] += amount;
+        }
+
+        Aggregate[] result = new Aggregate[days];
+        for (int d = 0; d < days; d++) {
+            result[d] = new Aggregate(counts[d + 1], sums[d + 1]);
+        }
+        return result;
+    }
+
+    /**
+     * Ids of up to limit matching orders, in snapshot order.
+     */
+    public long[] findIds(Filter filter, int limit) {
+        long minAmount = filter.minAmountCents(), maxAmount = filter.maxAmountCents();
+        long from = filter.fromMillis(), to = filter.toMillis();
+        int mask = filter.statusMask();
+        long[] found = new long[Math.max(0, Math.min(limit, size))];
+        int n = 0;
+        for (int i = 0; i < size && n < found.length; i++) {
+            long amount = amountCents[i];
+            long date = orderDateMillis[i];
+            if (amount >= minAmount & amount <= maxAmount & date >= from & date <= to
+                    & ((mask >>> statuses[i]) & 1) != 0) {
+                found[n++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(found, n);
+    }
+
+    /*
+        File layout, little endian:
+        int magic, int version, int size, long createdAt millis,
+        short source version length and the UTF-8 source version,
+        byte dictionary size, then per status a short name length and the UTF-8 name,
+        padding to 8 bytes, then the columns: ids, amountCents, orderDateMillis (long[size] each),
+        statuses (byte[size]). Status codes are remapped by name on load, so reordering
+        OrderStatus does not corrupt saved snapshots.
+     */
+
+    /**
+     * Save the snapshot, replacing the file atomically.
+     */
+    public void writeTo(Path file) throws IOException {
+        byte[][] names = new byte[STATUSES.length][];
+        byte[] source = sourceVersion.getBytes(StandardCharsets.UTF_8);
+        int headerSize = 4 + 4 + 4 + 8 + 2 + source.length + 1;
+        for (int s = 0; s < STATUSES.length; s++) {
+            names[s] = STATUSES[s].name().getBytes(StandardCharsets.UTF_8);
+            headerSize += 2 + names[s].length;
+        }
+        int columnsStart = (headerSize + 7) & ~7;
+        long fileSize = columnsStart + 3L * Long.BYTES * size + size;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + size + " orders is too large for one mapped file");
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(size).putLong(createdAt.toEpochMilli());
+            buffer.putShort((short) source.length).put(source);
+            buffer.put((byte) names.length);
+            for (byte[] name : names) {
+                buffer.putShort((short) name.length).put(name);
+            }
+            buffer.position(columnsStart);
+            for (long[] column : new long[][]{ids, amountCents, orderDateMillis}) {
+                buffer.asLongBuffer().put(column, 0, size);
+                buffer.position(buffer.position() + size * Long.BYTES);
+            }
+            buffer.put(statuses, 0, size);
+            buffer.force();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Load a snapshot saved by writeTo.
+     */
+    public static OrderColumns readFrom(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not an order snapshot: " + file);
+            }
+            int size = buffer.getInt();
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            byte[] source = new byte[buffer.getShort()];
+            buffer.get(source);
+
+            byte[] remap = new byte[buffer.get()];
+            for (int s = 0; s < remap.length; s++) {
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+                try {
+                    remap[s] = (byte) OrderStatus.valueOf(new String(name, StandardCharsets.UTF_8)).ordinal();
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Snapshot has an unknown order status: " + file, e);
+                }
+            }
+            int columnsStart = (buffer.position() + 7) & ~7;
+            if (channel.size() < columnsStart + 3L * Long.BYTES * size + size) {
+                throw new IOException("Truncated order snapshot: " + file);
+            }
+            buffer.position(columnsStart);
+
+            long[][] columns = new long[3][size];
+            for (long[] column : columns) {
+                buffer.asLongBuffer().get(column);
+                buffer.position(buffer.position() + size * Long.BYTES);
+            }
+            byte[] statuses = new byte[size];
+            buffer.get(statuses);
+            for (int i = 0; i < size; i++) {
+                statuses[i] = remap[statuses[i]];
+            }
+            return new OrderColumns(size, columns[0], columns[1], columns[2], statuses, createdAt,
+                    new String(source, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Appends rows into growing column arrays.
+     */
+    public static final class Builder {
+        private int size;
+        private long[] ids;
+        private long[] amountCents;
+        private long[] orderDateMillis;
+        private byte[] statuses;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            ids = new long[capacity];
+            amountCents = new long[capacity];
+            orderDateMillis = new long[capacity];
+            statuses = new byte[capacity];
+        }
+
+        /**
+         * Add an order. A missing order date is stored as Long.MIN_VALUE and matches no date range.
+         */
+        public Builder add(long id, long amount, LocalDateTime orderDate, OrderStatus status) {
+            if (size == ids.length) {
+                int capacity = size + (size >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                amountCents = Arrays.copyOf(amountCents, capacity);
+                orderDateMillis = Arrays.copyOf(orderDateMillis, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+            ids[size] = id;
+            amountCents[size] = amount;
+            orderDateMillis[size] = orderDate == null ? Long.MIN_VALUE : toMillis(orderDate);
+            statuses[size] = (byte) status.ordinal();
+            size++;
+            return this;
+        }
+
+        public OrderColumns build(Instant createdAt, String sourceVersion) {
+            return new OrderColumns(size, ids, amountCents, orderDateMillis, statuses, createdAt, sourceVersion);
+        }
+    }
+}
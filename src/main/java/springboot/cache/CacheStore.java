@@ -0,0 +1,46 @@
+package springboot.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import com.google.common.cache.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The map behind an EntityCache: Guava's cache or the striped ConcurrentLruCache.
+ */
+interface CacheStore<K, V> {
+
+    /**
+     * Return the cached value, or load, cache and return it. Loader exceptions reach the caller unchanged.
+     */
+    V get(K key, Function<? super K, ? extends V> loader);
+
+    V getIfPresent(K key);
+
+    /**
+     * The cached values of the keys that are present, in one pass over the cache.
+     */
+    Map<K, V> getAllPresent(Collection<? extends K> keys);
+
+    void put(K key, V value);
+
+    /**
+     * Atomically replace a cached value with its remapping; null removes it. Absent keys stay absent.
+     */
+    void computeIfPresent(K key, UnaryOperator<V> remapping);
+
+    void invalidate(K key);
+
+    void invalidateIf(Predicate<? super V> predicate);
+
+    long size();
+
+    CacheStats stats();
+
+    void bindTo(String name, MeterRegistry registry);
+}
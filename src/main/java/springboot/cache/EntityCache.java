@@ -0,0 +1,206 @@
+package springboot.cache;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Bounded in-process read-through cache for entities and DTOs, backed by Guava or by
+ * the lock-striped ConcurrentLruCache (see Implementation).
+ * Entries are evicted by size and by age since they were loaded. Writers evict
+ * entries, or update them in place, when their transaction commits. Every such write
+ * also bumps an invalidation generation, and a load that sees the generation of its key
+ * move while it ran drops the value it cached, since that value may predate the write.
+ * So once a write's commit callbacks have run, no older value is cached.
+ * As a MeterBinder bean it publishes its hit/miss/eviction statistics as "cache.*" metrics.
+ */
+public class EntityCache<K, V> implements MeterBinder {
+
+    /**
+     * The store behind the cache. GUAVA segments by hash with an approximate LRU per segment;
+     * LRU is ConcurrentLruCache, an access-ordered LinkedHashMap per lock stripe.
+     */
+    public enum Implementation {
+        GUAVA,
+        LRU
+    }
+
+    // Generations are striped by key hash; predicate evictions bump the global one
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final String name;
+    private final CacheStore<K, V> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    public EntityCache(String name, long maximumSize, Duration expireAfterWrite) {
+        this(name, maximumSize, expireAfterWrite, Implementation.GUAVA);
+    }
+
+    public EntityCache(String name, long maximumSize, Duration expireAfterWrite, Implementation implementation) {
+        this.name = name;
+        this.cache = switch (implementation) {
+            case GUAVA -> new GuavaCacheStore<>(maximumSize, expireAfterWrite);
+            case LRU -> new LruCacheStore<>(maximumSize, expireAfterWrite);
+        };
+    }
+
+    /**
+     * Return the cached value, or load it with the given loader and cache it.
+     * Concurrent misses for the same key share a single load. Exceptions thrown
+     * by the loader (such as ResourceNotFoundException) reach the caller unchanged
+     * and nothing is cached. A value loaded while a write to the key committed is
+     * returned but not kept.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long generation = generation(key);
+        V value = cache.get(key, loader);
+        if (generation(key) != generation) {
+            cache.invalidate(key);
+        }
+        return value;
+    }
+
+    /**
+     * Return the cached value without loading it, or null on a miss.
+     */
+    public V getIfPresent(K key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Return the values of the keys, looking the cached ones up in one batch and loading all
+     * the others with a single call to the bulk loader, whose results are cached. Like get,
+     * a loaded value whose key saw a write commit during the load is returned but not kept.
+     * Keys that are neither cached nor returned by the loader are absent from the result,
+     * which follows the order of the keys.
+     */
+    public Map<K, V> getAll(Collection<? extends K> keys,
+                            Function<? super Set<K>, ? extends Map<K, ? extends V>> bulkLoader) {
+        Map<K, V> cached = cache.getAllPresent(keys);
+        Map<K, Long> missing = new LinkedHashMap<>();
+        for (K key : keys) {
+            if (!cached.containsKey(key)) {
+                missing.put(key, generation(key));
+            }
+        }
+        Map<K, ? extends V> loaded = missing.isEmpty() ? Map.of() : bulkLoader.apply(missing.keySet());
+        loaded.forEach((key, value) -> {
+            Long generation = missing.get(key);
+            if (generation != null) {
+                cache.put(key, value);
+                if (generation(key) != generation) {
+                    cache.invalidate(key);
+                }
+            }
+        });
+
+        Map<K, V> values = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = cached.containsKey(key) ? cached.get(key) : loaded.get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    public void evict(K key) {
+        generations.incrementAndGet(stripe(key));
+        cache.invalidate(key);
+    }
+
+    /**
+     * Evict the key now and again once the current transaction commits. The second
+     * eviction drops any stale value a concurrent reader loaded before the commit.
+     */
+    public void evictAfterCommit(K key) {
+        evict(key);
+        afterCommit(() -> evict(key));
+    }
+
+    /**
+     * Replace the cached value with update(value) once the current transaction commits, or
+     * right away outside a transaction; a null result evicts the entry. Absent keys stay absent,
+     * so the next read loads them. Until the commit readers keep the committed value. A reader
+     * may see the committed state before the update runs, so updates must be idempotent.
+     */
+    public void updateAfterCommit(K key, UnaryOperator<V> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(() -> update(key, update));
+        } else {
+            update(key, update);
+        }
+    }
+
+    private void update(K key, UnaryOperator<V> update) {
+        generations.incrementAndGet(stripe(key));
+        cache.computeIfPresent(key, update);
+    }
+
+    /**
+     * Evict every entry whose value matches, now and again after commit.
+     */
+    public void evictAllAfterCommit(Predicate<? super V> predicate) {
+        evictAll(predicate);
+        afterCommit(() -> evictAll(predicate));
+    }
+
+    private void evictAll(Predicate<? super V> predicate) {
+        globalGeneration.incrementAndGet();
+        cache.invalidateIf(predicate);
+    }
+
+    // Both counters only grow, so the sum changes whenever either does
+    private long generation(K key) {
+        return globalGeneration.get() + generations.get(stripe(key));
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cache.bindTo(name, registry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
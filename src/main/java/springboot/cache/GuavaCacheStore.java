@@ -0,0 +1,98 @@
+package springboot.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+/**
+ * CacheStore on a Guava Cache bounded by entry count and age.
+ */
+class GuavaCacheStore<K, V> implements CacheStore<K, V> {
+
+    private final Cache<K, V> cache;
+
+    GuavaCacheStore(long maximumSize, Duration expireAfterWrite) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        try {
+            return cache.get(key, () -> loader.apply(key));
+        } catch (UncheckedExecutionException | ExecutionError e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load cache entry for key " + key, e.getCause());
+        }
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public Map<K, V> getAllPresent(Collection<? extends K> keys) {
+        return cache.getAllPresent(keys);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        cache.put(key, value);
+    }
+
+    @Override
+    public void computeIfPresent(K key, UnaryOperator<V> remapping) {
+        cache.asMap().computeIfPresent(key, (k, value) -> remapping.apply(value));
+    }
+
+    @Override
+    public void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void invalidateIf(Predicate<? super V> predicate) {
+        cache.asMap().values().removeIf(predicate);
+    }
+
+    @Override
+    public long size() {
+        return cache.size();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(String name, MeterRegistry registry) {
+        new GuavaCacheMetrics<>(cache, name, Tags.empty()).bindTo(registry);
+    }
+}
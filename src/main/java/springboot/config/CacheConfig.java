@@ -0,0 +1,65 @@
+package springboot.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import springboot.cache.EntityCache;
+import springboot.dto.OrderDTO;
+import springboot.dto.UserDTO;
+
+/**
+ * Configuration class for the in-process entity caches used by the service layer.
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Orders by id, cached as DTOs so a hit never touches the persistence context.
+     */
+    @Bean
+    public EntityCache<Long, OrderDTO> orderCache(
+            @Value("${app.cache.orders.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.orders.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${app.cache.implementation:guava}") EntityCache.Implementation implementation) {
+        return new EntityCache<>("orders", maximumSize, expireAfterWrite, implementation);
+    }
+
+    /**
+     * Each user's complete order list, hot and archived, by user id. OrderService keeps the
+     * lists current on writes instead of evicting them, and leaves users with more than
+     * app.cache.user-orders.maximum-orders orders uncached.
+     */
+    @Bean
+    public EntityCache<Long, List<OrderDTO>> userOrdersCache(
+            @Value("${app.cache.user-orders.maximum-size:2000}") long maximumSize,
+            @Value("${app.cache.user-orders.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${app.cache.implementation:guava}") EntityCache.Implementation implementation) {
+        return new EntityCache<>("userOrders", maximumSize, expireAfterWrite, implementation);
+    }
+
+    /**
+     * Users by id, cached as DTOs without the password or orders.
+     */
+    @Bean
+    public EntityCache<Long, UserDTO> userCache(
+            @Value("${app.cache.users.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.users.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${app.cache.implementation:guava}") EntityCache.Implementation implementation) {
+        return new EntityCache<>("users", maximumSize, expireAfterWrite, implementation);
+    }
+
+    /**
+     * Username to user id, so lookups by username share the entries in userCache.
+     */
+    @Bean
+    public EntityCache<String, Long> userIdByUsernameCache(
+            @Value("${app.cache.users.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.users.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${app.cache.implementation:guava}") EntityCache.Implementation implementation) {
+        return new EntityCache<>("userIdsByUsername", maximumSize, expireAfterWrite, implementation);
+    }
+}
@@ -0,0 +1,33 @@
+package springboot.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration applied when the application runs on virtual threads
+ * (spring.threads.virtual.enabled=true on Java 21+, see the "virtual-threads" profile).
+ * Spring Boot then serves Tomcat requests, @Async work and @Scheduled jobs on virtual
+ * threads; this class adds the request bulkhead that keeps them from all blocking on
+ * the connection pool at once.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestBulkheadFilter> requestBulkheadFilter(
+            @Value("${app.virtual-threads.max-concurrent-requests:64}") int maxConcurrentRequests,
+            @Value("${app.virtual-threads.max-wait:1s}") Duration maxWait) {
+
+        FilterRegistrationBean<RequestBulkheadFilter> registration =
+                new FilterRegistrationBean<>(new RequestBulkheadFilter(maxConcurrentRequests, maxWait));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,54 @@
+package springboot.controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.google.common.cache.CacheStats;
+
+import springboot.cache.EntityCache;
+
+/**
+ * REST controller exposing hit/miss statistics of the entity caches.
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final List<EntityCache<?, ?>> caches;
+
+    @Autowired
+    public CacheController(List<EntityCache<?, ?>> caches) {
+        this.caches = caches;
+    }
+
+    /**
+     * Get statistics for every cache.
+     * GET /api/cache/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        for (EntityCache<?, ?> cache : caches) {
+            CacheStats stats = cache.stats();
+
+            Map<String, Object> cacheStats = new LinkedHashMap<>();
+            cacheStats.put("size", cache.size());
+            cacheStats.put("hitCount", stats.hitCount());
+            cacheStats.put("missCount", stats.missCount());
+            cacheStats.put("hitRate", stats.hitRate());
+            cacheStats.put("loadExceptionCount", stats.loadExceptionCount());
+            cacheStats.put("averageLoadPenaltyNanos", stats.averageLoadPenalty());
+            cacheStats.put("evictionCount", stats.evictionCount());
+            response.put(cache.getName(), cacheStats);
+        }
+
+        return ResponseEntity.ok(response);
+    }
+}
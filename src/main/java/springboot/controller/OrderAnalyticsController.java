@@ -0,0 +1,122 @@
+package springboot.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import springboot.dto.SalesBucket;
+import springboot.model.Order.OrderStatus;
+import springboot.service.OrderAnalyticsService;
+
+/**
+ * REST controller for order reporting, answered from the periodically refreshed order snapshot.
+ * Every filter parameter is optional and every bound is inclusive; responses carry the
+ * snapshot time as "snapshotAt".
+ */
+@RestController
+@RequestMapping("/api/analytics/orders")
+public class OrderAnalyticsController {
+
+    private final OrderAnalyticsService analyticsService;
+
+    @Autowired
+    public OrderAnalyticsController(OrderAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * Count and total amount of the matching orders.
+     * GET /api/analytics/orders/summary
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<Map<String, Object>> getSummary(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        LocalDateTime snapshotAt = analyticsService.getSnapshotTime();
+        SalesBucket summary = analyticsService.summarize(status, minAmount, maxAmount, startDate, endDate);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("snapshotAt", snapshotAt);
+        response.put("status", status);
+        response.put("orderCount", summary.getOrderCount());
+        response.put("totalAmount", summary.getTotalAmount());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Count and total amount of the matching orders for each status.
+     * GET /api/analytics/orders/by-status
+     */
+    @GetMapping("/by-status")
+    public ResponseEntity<Map<String, Object>> getSummaryByStatus(
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        LocalDateTime snapshotAt = analyticsService.getSnapshotTime();
+        List<SalesBucket> buckets = analyticsService.summarizeByStatus(minAmount, maxAmount, startDate, endDate);
+        return ResponseEntity.ok(bucketsResponse(snapshotAt, buckets));
+    }
+
+    /**
+     * Count and total amount of the matching orders for each day in the range.
+     * GET /api/analytics/orders/daily
+     */
+    @GetMapping("/daily")
+    public ResponseEntity<Map<String, Object>> getSummaryByDay(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount) {
+
+        LocalDateTime snapshotAt = analyticsService.getSnapshotTime();
+        List<SalesBucket> buckets = analyticsService.summarizeByDay(status, minAmount, maxAmount, startDate, endDate);
+        return ResponseEntity.ok(bucketsResponse(snapshotAt, buckets));
+    }
+
+    /**
+     * Ids of up to limit matching orders.
+     * GET /api/analytics/orders/ids
+     */
+    @GetMapping("/ids")
+    public ResponseEntity<Map<String, Object>> getOrderIds(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "1000") int limit) {
+
+        LocalDateTime snapshotAt = analyticsService.getSnapshotTime();
+        long[] ids = analyticsService.findOrderIds(status, minAmount, maxAmount, startDate, endDate, limit);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("snapshotAt", snapshotAt);
+        response.put("ids", ids);
+        return ResponseEntity.ok(response);
+    }
+
+    private static Map<String, Object> bucketsResponse(LocalDateTime snapshotAt, List<SalesBucket> buckets) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("snapshotAt", snapshotAt);
+        response.put("buckets", buckets);
+        return response;
+    }
+}
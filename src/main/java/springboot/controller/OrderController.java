@@ -1,27 +1,50 @@
 package springboot.controller;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import springboot.dto.CursorPage;
+import springboot.dto.ExportFormat;
+import springboot.dto.OrderBatchResult;
 import springboot.dto.OrderDTO;
+import springboot.dto.OrderStatusTransition;
+import springboot.dto.OrderStatusUpdateRequest;
+import springboot.dto.SalesBucket;
 import springboot.model.Order.OrderStatus;
+import springboot.service.OrderBatchService;
+import springboot.service.OrderExportWriter;
 import springboot.service.OrderService;
+import springboot.service.OrderStatusPipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * REST controller for Order entity.
@@ -32,10 +55,17 @@ import springboot.service.OrderService;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderBatchService orderBatchService;
+    private final OrderStatusPipeline orderStatusPipeline;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderBatchService orderBatchService,
+                           OrderStatusPipeline orderStatusPipeline, ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.orderBatchService = orderBatchService;
+        this.orderStatusPipeline = orderStatusPipeline;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -51,6 +81,21 @@ public class OrderController {
         return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
     }
 
+    /**
+     * Create many orders from a JSON array or NDJSON body of userId/amount rows.
+     * POST /api/orders/batch
+     */
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<OrderBatchResult> createOrdersBatch(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+
+        boolean ndjson = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType);
+        OrderBatchResult result = orderBatchService.importOrders(body, ndjson);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Get order by ID.
      * GET /api/orders/{id}
@@ -71,16 +116,75 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * Get one page of a user's orders with sorting.
+     * GET /api/orders/user/{userId}?page=0&size=10
+     */
+    @GetMapping(value = "/user/{userId}", params = "page")
+    public ResponseEntity<Map<String, Object>> getOrdersByUserIdPaged(
+            @PathVariable Long userId,
+            @RequestParam int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "orderDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction) {
+
+        Page<OrderDTO> orderPage = orderService.getOrdersByUserId(userId, page, size, sortBy, direction);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("orders", orderPage.getContent());
+        response.put("currentPage", orderPage.getNumber());
+        response.put("totalItems", orderPage.getTotalElements());
+        response.put("totalPages", orderPage.getTotalPages());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get many orders by id in one request.
+     * GET /api/orders?ids=1,2,3
+     * Ids that match no order are listed in "missingIds" instead of failing the request.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<Map<String, Object>> getOrdersByIds(@RequestParam List<Long> ids) {
+        Map<Long, OrderDTO> orders = orderService.getOrdersByIds(ids);
+        List<Long> missingIds = ids.stream()
+                .filter(id -> !orders.containsKey(id))
+                .distinct()
+                .toList();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("orders", orders.values());
+        response.put("missingIds", missingIds);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get all orders with pagination and sorting.
      * GET /api/orders
+     * With paging=cursor, returns keyset-paginated slices: pass the returned "next" token
+     * as cursor to fetch the following slice. No total count is computed in that mode.
      */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllOrders(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String direction) {
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "offset") String paging,
+            @RequestParam(required = false) String cursor) {
+
+        if (paging.equalsIgnoreCase("cursor")) {
+            CursorPage<OrderDTO> slice = orderService.getOrdersByCursor(cursor, size, sortBy, direction);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("orders", slice.getContent());
+            response.put("size", slice.getContent().size());
+            response.put("hasNext", slice.hasNext());
+            response.put("next", slice.getNextCursor());
+
+            return ResponseEntity.ok(response);
+        }
 
         Page<OrderDTO> orderPage = orderService.getAllOrders(page, size, sortBy, direction);
 
@@ -106,6 +210,54 @@ public class OrderController {
         return ResponseEntity.ok(updatedOrder);
     }
 
+    /**
+     * Update the status of many orders at once, selected by ids or by a filter.
+     * PUT /api/orders/status
+     */
+    @PutMapping("/status")
+    public ResponseEntity<Map<String, Object>> updateOrderStatuses(@RequestBody OrderStatusUpdateRequest request) {
+        int updated = orderService.updateOrderStatuses(request);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("updated", updated);
+        response.put("targetStatus", request.getTargetStatus());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Queue status changes for many orders; changes for the same order are coalesced.
+     * POST /api/orders/status-transitions
+     * The response is sent once every change has been applied, without holding a request
+     * thread meanwhile, and lists the updated orders and the failures by order id.
+     * Nothing is queued unless the whole request is valid and fits: returns 400 for a
+     * transition without order id or status, and 503 if the queue stays full.
+     */
+    @PostMapping("/status-transitions")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> submitStatusTransitions(
+            @RequestBody List<OrderStatusTransition> transitions) {
+
+        Map<Long, CompletableFuture<OrderDTO>> completions = orderStatusPipeline.submit(transitions);
+
+        return CompletableFuture.allOf(completions.values().toArray(CompletableFuture[]::new))
+                .handle((ignored, ignoredError) -> {
+                    List<OrderDTO> updated = new ArrayList<>();
+                    Map<Long, String> failed = new HashMap<>();
+                    completions.forEach((orderId, completion) -> {
+                        try {
+                            updated.add(completion.join());
+                        } catch (CompletionException e) {
+                            failed.put(orderId, e.getCause().getMessage());
+                        }
+                    });
+
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("updated", updated);
+                    response.put("failed", failed);
+                    return ResponseEntity.ok(response);
+                });
+    }
+
     /**
      * Delete order.
      * DELETE /api/orders/{id}
@@ -126,6 +278,23 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * Stream all orders with a status as NDJSON or CSV, written as rows are read.
+     * GET /api/orders/status/{status}/export
+     */
+    @GetMapping("/status/{status}/export")
+    public void exportOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response) throws IOException {
+
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        try (OrderExportWriter writer = new OrderExportWriter(format, response.getOutputStream(), objectMapper)) {
+            orderService.exportOrdersByStatus(status, writer);
+        }
+    }
+
     /**
      * Get orders by date range.
      * GET /api/orders/date-range
@@ -139,6 +308,24 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * Stream orders in a date range as NDJSON or CSV, written as rows are read.
+     * GET /api/orders/date-range/export
+     */
+    @GetMapping("/date-range/export")
+    public void exportOrdersByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response) throws IOException {
+
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        try (OrderExportWriter writer = new OrderExportWriter(format, response.getOutputStream(), objectMapper)) {
+            orderService.exportOrdersByDateRange(startDate, endDate, writer);
+        }
+    }
+
     /**
      * Get total sales by status.
      * GET /api/orders/total-sales/{status}
@@ -153,4 +340,18 @@ public class OrderController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Get daily sales by status within a date range.
+     * GET /api/orders/total-sales/{status}/daily
+     */
+    @GetMapping("/total-sales/{status}/daily")
+    public ResponseEntity<List<SalesBucket>> getDailySalesByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        List<SalesBucket> dailySales = orderService.getDailySalesByStatus(status, startDate, endDate);
+        return ResponseEntity.ok(dailySales);
+    }
 }
\ No newline at end of file
@@ -18,8 +18,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import springboot.dto.CursorPage;
 import springboot.dto.UserCreationRequest;
-import springboot.model.User;
+import springboot.dto.UserDTO;
 import springboot.model.User.UserStatus;
 import springboot.service.UserService;
 
@@ -45,8 +46,8 @@ public class UserController {
      * POST /api/users
      */
     @PostMapping
-    public ResponseEntity<User> createUser(@Valid @RequestBody UserCreationRequest userRequest) {
-        User createdUser = userService.createUser(userRequest);
+    public ResponseEntity<UserDTO> createUser(@Valid @RequestBody UserCreationRequest userRequest) {
+        UserDTO createdUser = userService.createUser(userRequest);
         return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
 
@@ -55,8 +56,8 @@ public class UserController {
      * GET /api/users/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        User user = userService.getUserById(id);
+    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
+        UserDTO user = userService.getUserById(id);
         return ResponseEntity.ok(user);
     }
 
@@ -65,23 +66,59 @@ public class UserController {
      * GET /api/users/username/{username}
      */
     @GetMapping("/username/{username}")
-    public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
-        User user = userService.getUserByUsername(username);
+    public ResponseEntity<UserDTO> getUserByUsername(@PathVariable String username) {
+        UserDTO user = userService.getUserByUsername(username);
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * Get many users by id in one request.
+     * GET /api/users?ids=1,2,3
+     * Ids that match no user are listed in "missingIds" instead of failing the request.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<Map<String, Object>> getUsersByIds(@RequestParam List<Long> ids) {
+        Map<Long, UserDTO> users = userService.getUsersByIds(ids);
+        List<Long> missingIds = ids.stream()
+                .filter(id -> !users.containsKey(id))
+                .distinct()
+                .toList();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("users", users.values());
+        response.put("missingIds", missingIds);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get all users with pagination and sorting.
      * GET /api/users
+     * With paging=cursor, returns keyset-paginated slices: pass the returned "next" token
+     * as cursor to fetch the following slice. No total count is computed in that mode.
      */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String direction) {
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "offset") String paging,
+            @RequestParam(required = false) String cursor) {
+
+        if (paging.equalsIgnoreCase("cursor")) {
+            CursorPage<UserDTO> slice = userService.getUsersByCursor(cursor, size, sortBy, direction);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("users", slice.getContent());
+            response.put("size", slice.getContent().size());
+            response.put("hasNext", slice.hasNext());
+            response.put("next", slice.getNextCursor());
 
-        Page<User> userPage = userService.getAllUsers(page, size, sortBy, direction);
+            return ResponseEntity.ok(response);
+        }
+
+        Page<UserDTO> userPage = userService.getAllUsers(page, size, sortBy, direction);
 
         Map<String, Object> response = new HashMap<>();
         response.put("users", userPage.getContent());
@@ -97,11 +134,11 @@ public class UserController {
      * PUT /api/users/{id}
      */
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(
+    public ResponseEntity<UserDTO> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UserCreationRequest userRequest) {
 
-        User updatedUser = userService.updateUser(id, userRequest);
+        UserDTO updatedUser = userService.updateUser(id, userRequest);
         return ResponseEntity.ok(updatedUser);
     }
 
@@ -110,11 +147,11 @@ public class UserController {
      * PUT /api/users/{id}/status
      */
     @PutMapping("/{id}/status")
-    public ResponseEntity<User> updateUserStatus(
+    public ResponseEntity<UserDTO> updateUserStatus(
             @PathVariable Long id,
             @RequestParam UserStatus status) {
 
-        User updatedUser = userService.updateUserStatus(id, status);
+        UserDTO updatedUser = userService.updateUserStatus(id, status);
         return ResponseEntity.ok(updatedUser);
     }
 
@@ -129,12 +166,16 @@ public class UserController {
     }
 
     /**
-     * Search users by keyword.
+     * Search users by keyword, best matches first.
      * GET /api/users/search
      */
     @GetMapping("/search")
-    public ResponseEntity<List<User>> searchUsers(@RequestParam String keyword) {
-        List<User> users = userService.searchUsers(keyword);
+    public ResponseEntity<List<UserDTO>> searchUsers(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        List<UserDTO> users = userService.searchUsers(keyword, page, size);
         return ResponseEntity.ok(users);
     }
 
@@ -143,8 +184,8 @@ public class UserController {
      * GET /api/users/status/{status}
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<User>> getUsersByStatus(@PathVariable UserStatus status) {
-        List<User> users = userService.getUsersByStatus(status);
+    public ResponseEntity<List<UserDTO>> getUsersByStatus(@PathVariable UserStatus status) {
+        List<UserDTO> users = userService.getUsersByStatus(status);
         return ResponseEntity.ok(users);
     }
 
@@ -153,8 +194,8 @@ public class UserController {
      * GET /api/users/recent
      */
     @GetMapping("/recent")
-    public ResponseEntity<List<User>> getRecentUsers() {
-        List<User> users = userService.getRecentUsers();
+    public ResponseEntity<List<UserDTO>> getRecentUsers() {
+        List<UserDTO> users = userService.getRecentUsers();
         return ResponseEntity.ok(users);
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package springboot.dto;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. No total count is computed;
+ * nextCursor is an opaque token for the following slice, or null on the last one.
+ */
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
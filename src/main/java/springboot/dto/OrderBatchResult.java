@@ -0,0 +1,108 @@
+package springboot.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of a bulk order import. Rows that were written are only counted;
+ * every rejected row gets its own entry so the caller can fix and resend it.
+ * Each chunk is committed on its own, so the chunk list says which row ranges
+ * were committed and which were rolled back.
+ */
+public class OrderBatchResult {
+    private long received;
+    private long created;
+    private long rejected;
+    private List<RowError> errors = new ArrayList<>();
+    private List<ChunkResult> chunks = new ArrayList<>();
+
+    public void recordCreated(int count) {
+        this.received += count;
+        this.created += count;
+    }
+
+    public void recordRejected(long index, String message) {
+        this.received++;
+        this.rejected++;
+        this.errors.add(new RowError(index, message));
+    }
+
+    public void recordChunk(long firstIndex, long lastIndex, int created, boolean committed) {
+        this.chunks.add(new ChunkResult(firstIndex, lastIndex, created, committed));
+    }
+
+    // Getters
+    public long getReceived() {
+        return received;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public List<ChunkResult> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Error details for one rejected row, identified by its zero-based position in the body.
+     */
+    public static class RowError {
+        private long index;
+        private String message;
+
+        public RowError(long index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        public long getIndex() {
+            return index;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Outcome of one chunk, covering the rows from firstIndex to lastIndex of the body.
+     */
+    public static class ChunkResult {
+        private long firstIndex;
+        private long lastIndex;
+        private int created;
+        private boolean committed;
+
+        public ChunkResult(long firstIndex, long lastIndex, int created, boolean committed) {
+            this.firstIndex = firstIndex;
+            this.lastIndex = lastIndex;
+            this.created = created;
+            this.committed = committed;
+        }
+
+        public long getFirstIndex() {
+            return firstIndex;
+        }
+
+        public long getLastIndex() {
+            return lastIndex;
+        }
+
+        public int getCreated() {
+            return created;
+        }
+
+        public boolean isCommitted() {
+            return committed;
+        }
+    }
+}
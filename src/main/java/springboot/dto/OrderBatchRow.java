@@ -0,0 +1,38 @@
+package springboot.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A single row of a bulk order import - the same userId/amount pair
+ * accepted by POST /api/orders, read from a JSON array or NDJSON body.
+ */
+public class OrderBatchRow {
+    private Long userId;
+    private BigDecimal amount;
+
+    // Empty constructor for deserialization
+    public OrderBatchRow() {
+    }
+
+    public OrderBatchRow(Long userId, BigDecimal amount) {
+        this.userId = userId;
+        this.amount = amount;
+    }
+
+    // Getters and setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,38 @@
+package springboot.dto;
+
+import springboot.model.Order.OrderStatus;
+
+/**
+ * A requested status change for one order, as sent in bulk by
+ * POST /api/orders/status-transitions.
+ */
+public class OrderStatusTransition {
+    private Long orderId;
+    private OrderStatus status;
+
+    // Empty constructor for deserialization
+    public OrderStatusTransition() {
+    }
+
+    public OrderStatusTransition(Long orderId, OrderStatus status) {
+        this.orderId = orderId;
+        this.status = status;
+    }
+
+    // Getters and setters
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,87 @@
+package springboot.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import springboot.model.Order.OrderStatus;
+
+/**
+ * Request body for PUT /api/orders/status: the orders to change, given either as a list
+ * of ids or as a filter on current status, user and order date range, plus the status
+ * to move them to.
+ */
+public class OrderStatusUpdateRequest {
+    private List<Long> ids;
+    private OrderStatus status;
+    private Long userId;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private OrderStatus targetStatus;
+
+    // Empty constructor for deserialization
+    public OrderStatusUpdateRequest() {
+    }
+
+    /**
+     * True when the orders are selected by id rather than by filter.
+     */
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    /**
+     * True when at least one filter criterion is set.
+     */
+    public boolean hasFilter() {
+        return status != null || userId != null || startDate != null || endDate != null;
+    }
+
+    // Getters and setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDateTime startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+    }
+
+    public OrderStatus getTargetStatus() {
+        return targetStatus;
+    }
+
+    public void setTargetStatus(OrderStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+}
@@ -0,0 +1,68 @@
+package springboot.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import springboot.model.Order.OrderStatus;
+
+/**
+ * Number of orders and their summed amount for one status on one day.
+ * Also used for signed deltas applied to the maintained sales aggregates.
+ */
+public class SalesBucket {
+    private OrderStatus status;
+    private LocalDate date;
+    private long orderCount;
+    private BigDecimal totalAmount;
+
+    // Empty constructor for serialization/deserialization
+    public SalesBucket() {
+    }
+
+    public SalesBucket(OrderStatus status, LocalDate date, long orderCount, BigDecimal totalAmount) {
+        this.status = status;
+        this.date = date;
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+    }
+
+    /**
+     * The same bucket with count and amount negated.
+     */
+    public SalesBucket negate() {
+        return new SalesBucket(status, date, -orderCount, totalAmount.negate());
+    }
+
+    // Getters and setters
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
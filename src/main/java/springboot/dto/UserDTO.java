@@ -0,0 +1,83 @@
+package springboot.dto;
+
+import java.time.LocalDateTime;
+
+import springboot.model.User.UserStatus;
+
+/**
+ * DTO for User entity - the user fields returned by the API. Never carries the
+ * password or the orders collection, and is filled by projection queries that
+ * select only these columns.
+ */
+public class UserDTO {
+    private Long id;
+    private String username;
+    private String email;
+    private UserStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Empty constructor for serialization/deserialization
+    public UserDTO() {
+    }
+
+    // Constructor used by the JPQL projections and to convert from Entity to DTO
+    public UserDTO(Long id, String username, String email, UserStatus status,
+                   LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public UserStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(UserStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,52 @@
+package springboot.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times the JdbcTemplate-based repository classes under the same meter and tags Spring Boot
+ * uses for Spring Data repositories ("spring.data.repository.invocations"), so every
+ * repository method's call count and latency shows up in one place.
+ */
+@Aspect
+@Component
+public class JdbcRepositoryMetricsAspect {
+
+    private static final String METRIC_NAME = "spring.data.repository.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public JdbcRepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(springboot.repository..*) && @within(org.springframework.stereotype.Repository) " +
+            "&& execution(public * *(..))")
+    public Object timeRepositoryMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String state = "SUCCESS";
+        String exception = "None";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            state = "ERROR";
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Duration of repository invocations")
+                    .tag("repository", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("state", state)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
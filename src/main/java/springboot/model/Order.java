@@ -2,19 +2,21 @@ package springboot.model;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.EnumType;
-import javax.persistence.Enumerated;
-import javax.persistence.FetchType;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
-import javax.persistence.JoinColumn;
-import javax.persistence.ManyToOne;
-import javax.persistence.PrePersist;
-import javax.persistence.PreUpdate;
-import javax.persistence.Table;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 
@@ -23,11 +25,22 @@ import jakarta.validation.constraints.NotNull;
  * This demonstrates a many-to-one relationship with User.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Created by V4__add_order_and_user_indexes.sql; see there for the queries each one serves
+        @Index(name = "idx_orders_user_status", columnList = "user_id, status, order_date, total_amount"),
+        @Index(name = "idx_orders_status_date", columnList = "status, order_date, total_amount"),
+        @Index(name = "idx_orders_order_date", columnList = "order_date, status, total_amount"),
+        @Index(name = "idx_orders_total_amount", columnList = "total_amount")
+})
 public class Order {
 
+    // Sequence increment; each sequence call reserves this many ids (pooled-lo), which lets
+    // Hibernate batch inserts and lets OrderBatchService assign ids for its JDBC inserts
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull(message = "Order amount is required")
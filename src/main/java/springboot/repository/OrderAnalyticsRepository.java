@@ -0,0 +1,57 @@
+package springboot.repository;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import springboot.analytics.OrderColumns;
+import springboot.model.Order.OrderStatus;
+
+/**
+ * Repository reading every order, hot and archived, into an OrderColumns snapshot.
+ * Rows are streamed straight into the column builder, so no DTO or entity is created per order.
+ */
+@Repository
+public class OrderAnalyticsRepository {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OrderAnalyticsRepository(JdbcTemplate jdbcTemplate) {
+        // Own template so the larger fetch size only applies to the snapshot scan
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public OrderColumns loadColumns() {
+        // Taken before the scan, so concurrent writes can only make the snapshot newer than its version
+        String sourceVersion = findSourceVersion();
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders_all", Long.class);
+        OrderColumns.Builder builder = OrderColumns.builder(count == null ? 0 : (int) Math.min(count, Integer.MAX_VALUE));
+        Instant createdAt = Instant.now();
+
+        jdbcTemplate.query("SELECT id, total_amount, order_date, status FROM orders_all", rs -> {
+            builder.add(
+                    rs.getLong("id"),
+                    // NUMERIC(38, 2), so the unscaled value is the amount in cents
+                    rs.getBigDecimal("total_amount").movePointRight(2).longValueExact(),
+                    rs.getObject("order_date", LocalDateTime.class),
+                    OrderStatus.valueOf(rs.getString("status")));
+        });
+        return builder.build(createdAt, sourceVersion);
+    }
+
+    /**
+     * Row count, highest id and latest update over all orders. Any insert, delete or status
+     * change since a snapshot was built changes it, and so does a different database.
+     */
+    public String findSourceVersion() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), MAX(id), MAX(updated_at) FROM orders_all",
+                (rs, rowNum) -> rs.getLong(1) + "/" + rs.getLong(2) + "/" + rs.getObject(3, LocalDateTime.class));
+    }
+}
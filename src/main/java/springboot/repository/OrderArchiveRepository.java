@@ -0,0 +1,328 @@
+package springboot.repository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import springboot.dto.OrderDTO;
+import springboot.dto.OrderStatusUpdateRequest;
+import springboot.model.Order.OrderStatus;
+
+/**
+ * Repository for orders_archive, the cold half of the orders split, and for the listings
+ * that read both halves.
+ * Moves between the tables copy the rows and delete the originals in the caller's transaction,
+ * after locking them, so a concurrent writer either sees the row before the move or after it.
+ * Keyset listings query each table on its own, so each query can seek an index in sort order,
+ * and merge the two sorted results; offset pages run one query on the orders_all view.
+ */
+@Repository
+public class OrderArchiveRepository {
+
+    private static final String COLUMNS = "id, total_amount, status, order_date, created_at, updated_at, user_id";
+
+    private static final String ARCHIVE_DTO_SQL = dtoSql("orders_archive");
+
+    // The halves a keyset listing merges and a page counts
+    private static final List<String> ORDER_TABLES = List.of("orders", "orders_archive");
+
+    // Ids per IN list when moving orders back from the archive
+    private static final int RESTORE_BATCH_SIZE = 1000;
+
+    // Sortable OrderDTO properties and their columns in either table
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "o.id",
+            "totalAmount", "o.total_amount",
+            "status", "o.status",
+            "orderDate", "o.order_date");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OrderArchiveRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Move up to limit hot orders with one of the statuses, placed before the cutoff, to the
+     * archive. Returns the number of orders moved.
+     */
+    public int archiveBatch(Collection<OrderStatus> statuses, LocalDateTime cutoff, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("statuses", statuses.stream().map(Enum::name).toList())
+                .addValue("cutoff", cutoff)
+                .addValue("limit", limit);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM orders WHERE status IN (:statuses) AND order_date < :cutoff " +
+                        "ORDER BY id LIMIT :limit FOR UPDATE", params, Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        move(ids, "orders", "orders_archive");
+        return ids.size();
+    }
+
+    /**
+     * Move the archived orders among the ids back to the hot table. Returns the number moved.
+     */
+    public int restore(Collection<Long> ids) {
+        int restored = 0;
+        List<Long> batch = new ArrayList<>(Math.min(ids.size(), RESTORE_BATCH_SIZE));
+        for (Long id : ids) {
+            batch.add(id);
+            if (batch.size() == RESTORE_BATCH_SIZE) {
+                restored += restoreBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            restored += restoreBatch(batch);
+        }
+        return restored;
+    }
+
+    /**
+     * Move the archived orders a bulk status update would change back to the hot table.
+     */
+    public int restoreMatching(OrderStatusUpdateRequest request) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM orders_archive " + OrderStatusBulkRepository.where(request, params),
+                params, Long.class);
+        return restore(ids);
+    }
+
+    private int restoreBatch(List<Long> ids) {
+        List<Long> archived = jdbcTemplate.queryForList(
+                "SELECT id FROM orders_archive WHERE id IN (:ids) FOR UPDATE", Map.of("ids", ids), Long.class);
+        if (archived.isEmpty()) {
+            return 0;
+        }
+        move(archived, "orders_archive", "orders");
+        return archived.size();
+    }
+
+    private void move(List<Long> ids, String from, String to) {
+        Map<String, Object> params = Map.of("ids", ids);
+        jdbcTemplate.update("INSERT INTO " + to + " (" + COLUMNS + ") SELECT " + COLUMNS +
+                " FROM " + from + " WHERE id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM " + from + " WHERE id IN (:ids)", params);
+    }
+
+    /**
+     * Latest order date in the archive, or null if it is empty. Reads of ranges starting after
+     * it never need the archive.
+     */
+    public LocalDateTime findLatestOrderDate() {
+        return jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT MAX(order_date) FROM orders_archive", LocalDateTime.class);
+    }
+
+    /**
+     * Whether the user has any archived orders, so their reads can skip the archive if not.
+     */
+    public boolean existsByUserId(Long userId) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM orders_archive WHERE user_id = :userId LIMIT 1",
+                Map.of("userId", userId), Integer.class).isEmpty();
+    }
+
+    // Archived orders only - OrderService adds them to the same query on the hot table
+
+    public Optional<OrderDTO> findDTOById(Long id) {
+        return jdbcTemplate.query(ARCHIVE_DTO_SQL + "WHERE o.id = :id", Map.of("id", id), this::mapOrder)
+                .stream().findFirst();
+    }
+
+    public List<OrderDTO> findDTOsByIdIn(Collection<Long> ids) {
+        return jdbcTemplate.query(ARCHIVE_DTO_SQL + "WHERE o.id IN (:ids)", Map.of("ids", ids), this::mapOrder);
+    }
+
+    public List<OrderDTO> findDTOsByUserId(Long userId) {
+        return jdbcTemplate.query(ARCHIVE_DTO_SQL + "WHERE o.user_id = :userId",
+                Map.of("userId", userId), this::mapOrder);
+    }
+
+    public List<OrderDTO> findDTOsByStatus(OrderStatus status) {
+        return jdbcTemplate.query(ARCHIVE_DTO_SQL + "WHERE o.status = :status",
+                Map.of("status", status.name()), this::mapOrder);
+    }
+
+    public List<OrderDTO> findDTOsByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return jdbcTemplate.query(ARCHIVE_DTO_SQL + "WHERE o.order_date BETWEEN :startDate AND :endDate",
+                Map.of("startDate", startDate, "endDate", endDate), this::mapOrder);
+    }
+
+    // Streams must be closed by the caller, inside its transaction
+
+    public Stream<OrderDTO> streamDTOsByStatus(OrderStatus status) {
+        return jdbcTemplate.queryForStream(ARCHIVE_DTO_SQL + "WHERE o.status = :status",
+                Map.of("status", status.name()), this::mapOrder);
+    }
+
+    public Stream<OrderDTO> streamDTOsByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return jdbcTemplate.queryForStream(ARCHIVE_DTO_SQL + "WHERE o.order_date BETWEEN :startDate AND :endDate",
+                Map.of("startDate", startDate, "endDate", endDate), this::mapOrder);
+    }
+
+    /**
+     * One page of every order, hot and archived, in the pageable's sort order with id as tie-breaker.
+     */
+    public Page<OrderDTO> findAllDTOs(Pageable pageable) {
+        return findPage("", new MapSqlParameterSource(), pageable);
+    }
+
+    /**
+     * One page of the user's orders, hot and archived, in the pageable's sort order with id as tie-breaker.
+     */
+    public Page<OrderDTO> findDTOsByUserId(Long userId, Pageable pageable) {
+        return findPage("WHERE o.user_id = :userId ", new MapSqlParameterSource("userId", userId), pageable);
+    }
+
+    /**
+     * Up to limit orders, hot and archived, that come after the keyset position in the sort
+     * order; an empty position starts from the beginning. The sort must end with id and use
+     * one direction for all its properties, as CursorCodec.keysetSort builds it.
+     */
+    public List<OrderDTO> findDTOsAfter(Map<String, Object> position, Sort sort, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("limit", limit);
+        String where = position.isEmpty() ? "" : "WHERE " + keysetPredicate(position, sort, params) + " ";
+        return merge(ORDER_TABLES.stream()
+                .map(table -> jdbcTemplate.query(listingSql(table, where, sort), params, this::mapOrder))
+                .toList(), sort, limit);
+    }
+
+    // One query on orders_all: the database merges the tables and skips the offset, and only
+    // the page's rows are joined to users. The counts run on the tables, where an unfiltered
+    // COUNT(*) needs no scan
+    private Page<OrderDTO> findPage(String where, MapSqlParameterSource params, Pageable pageable) {
+        params.addValue("limit", pageable.getPageSize()).addValue("offset", pageable.getOffset());
+        List<OrderDTO> content = jdbcTemplate.query(pageSql(where, pageable.getSort()), params, this::mapOrder);
+        long total = 0;
+        for (String table : ORDER_TABLES) {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " o " + where, params, Long.class);
+            total += count == null ? 0 : count;
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // The first limit orders of results that are each sorted by sort, in that order
+    private static List<OrderDTO> merge(List<List<OrderDTO>> results, Sort sort, long limit) {
+        List<OrderDTO> merged = new ArrayList<>();
+        results.forEach(merged::addAll);
+        merged.sort(comparator(sort));
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, (int) limit)) : merged;
+    }
+
+    // The ORDER BY below, applied in memory
+    private static Comparator<OrderDTO> comparator(Sort sort) {
+        Comparator<OrderDTO> comparator = null;
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            Comparator<OrderDTO> next = comparator(order.getProperty());
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+            hasId |= order.getProperty().equals("id");
+        }
+        Comparator<OrderDTO> byId = Comparator.comparing(OrderDTO::getId);
+        return comparator == null ? byId : hasId ? comparator : comparator.thenComparing(byId);
+    }
+
+    private static Comparator<OrderDTO> comparator(String property) {
+        return switch (property) {
+            case "id" -> Comparator.comparing(OrderDTO::getId);
+            case "totalAmount" -> Comparator.comparing(OrderDTO::getTotalAmount);
+            case "status" -> Comparator.comparing(order -> order.getStatus().name());
+            case "orderDate" -> Comparator.comparing(OrderDTO::getOrderDate);
+            default -> throw new IllegalArgumentException("Cannot sort orders by " + property);
+        };
+    }
+
+    private static String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder("ORDER BY ");
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            orderBy.append(column(order.getProperty())).append(order.isAscending() ? " ASC, " : " DESC, ");
+            hasId |= order.getProperty().equals("id");
+        }
+        if (!hasId) {
+            orderBy.append("o.id ASC, ");
+        }
+        return orderBy.substring(0, orderBy.length() - 2);
+    }
+
+    // (k0, k1, ...) > (:k0, :k1, ...), with < for a descending sort: one range an index on the
+    // sort columns can seek to
+    private static String keysetPredicate(Map<String, Object> position, Sort sort, MapSqlParameterSource params) {
+        List<String> columns = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        Sort.Direction direction = null;
+        int i = 0;
+        for (Sort.Order order : sort) {
+            if (direction != null && order.getDirection() != direction) {
+                throw new IllegalArgumentException("Keyset sorts must use one direction");
+            }
+            direction = order.getDirection();
+            String param = "k" + i++;
+            Object value = position.get(order.getProperty());
+            params.addValue(param, value instanceof Enum<?> e ? e.name() : value);
+            columns.add(column(order.getProperty()));
+            values.add(":" + param);
+        }
+        return "(" + String.join(", ", columns) + ")" + (direction == Sort.Direction.ASC ? " > " : " < ") +
+                "(" + String.join(", ", values) + ")";
+    }
+
+    // The table's first :limit orders in sort order. They are limited before the join with users,
+    // so the database reads the table in the order of an index on the sort columns and stops there.
+    private static String listingSql(String table, String where, Sort sort) {
+        return "SELECT o.id, o.total_amount, o.status, o.order_date, o.user_id, u.username FROM (" +
+                "SELECT id, total_amount, status, order_date, user_id FROM " + table + " o " + where +
+                orderBy(sort) + " LIMIT :limit) o JOIN users u ON u.id = o.user_id";
+    }
+
+    // One page of orders_all in sort order, limited before the join with users and put back
+    // in sort order after it
+    private static String pageSql(String where, Sort sort) {
+        return "SELECT o.id, o.total_amount, o.status, o.order_date, o.user_id, u.username FROM (" +
+                "SELECT id, total_amount, status, order_date, user_id FROM orders_all o " + where +
+                orderBy(sort) + " LIMIT :limit OFFSET :offset) o JOIN users u ON u.id = o.user_id " + orderBy(sort);
+    }
+
+    private static String dtoSql(String table) {
+        return "SELECT o.id, o.total_amount, o.status, o.order_date, o.user_id, u.username " +
+                "FROM " + table + " o JOIN users u ON u.id = o.user_id ";
+    }
+
+    private static String column(String property) {
+        String column = SORT_COLUMNS.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Cannot sort orders by " + property);
+        }
+        return column;
+    }
+
+    private OrderDTO mapOrder(ResultSet rs, int rowNum) throws SQLException {
+        return new OrderDTO(
+                rs.getLong("id"),
+                rs.getBigDecimal("total_amount"),
+                OrderStatus.valueOf(rs.getString("status")),
+                rs.getObject("order_date", LocalDateTime.class),
+                rs.getLong("user_id"),
+                rs.getString("username"));
+    }
+}
@@ -1,21 +1,38 @@
 package springboot.repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import springboot.dto.OrderDTO;
 import springboot.model.Order;
 import springboot.model.Order.OrderStatus;
 
 /**
  * Repository interface for Order entity.
  * Demonstrates paging and sorting capabilities along with custom queries.
+ * Queries here read the hot orders table only; archived orders are read through
+ * OrderArchiveRepository, and OrderService combines the two.
  */
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -23,6 +40,11 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     // Find orders by user id - derived query method
     List<Order> findByUserId(Long userId);
 
+    // Load an order for a write, locking its row (SELECT ... FOR UPDATE) until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+
     // Find orders by status - derived query method
     List<Order> findByStatus(OrderStatus status);
 
@@ -38,6 +60,63 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     // Paginated and sorted results - same method but with Pageable parameter
     Page<Order> findByUserId(Long userId, Pageable pageable);
 
+    // Paginated listing - fetches each order's user in the same query instead of one SELECT per order
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Order> findAll(Pageable pageable);
+
+    // Keyset-paginated results - seeks past the last seen sort key instead of using OFFSET, no count query
+    @EntityGraph(attributePaths = "user")
+    Window<Order> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // DTO projections - select only the columns OrderDTO needs, joined to the user in one statement
+    @Query("SELECT new springboot.dto.OrderDTO(o.id, o.totalAmount, o.status, o.orderDate, u.id, u.username) " +
+            "FROM Order o JOIN o.user u WHERE o.id = :id")
+    Optional<OrderDTO> findDTOById(@Param("id") Long id);
+
+    @Query("SELECT new springboot.dto.OrderDTO(o.id, o.totalAmount, o.status, o.orderDate, u.id, u.username) " +
+            "FROM Order o JOIN o.user u WHERE o.id IN :ids")
+    List<OrderDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new springboot.dto.OrderDTO(o.id, o.totalAmount, o.status, o.orderDate, u.id, u.username) " +
+            "FROM Order o JOIN o.user u WHERE u.id = :userId")
+    List<OrderDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new springboot.dto.OrderDTO(o.id, o.totalAmount, o.status, o.orderDate, u.id, u.username) " +
+            "FROM Order o JOIN o.user u WHERE o.status = :status")
+    List<OrderDTO> findDTOsByStatus(@Param("status") OrderStatus status);
+
+    @Query("SELECT new springboot.dto.OrderDTO(o.id, o.totalAmount, o.status, o.orderDate, u.id, u.username) " +
+            "FROM Order o JOIN o.user u WHERE o.orderDate BETWEEN :startDate AND :endDate")
+    List<OrderDTO> findDTOsByOrderDateBetween(@Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate);
+
+    // Set-based status change; sets updated_at itself since entity callbacks do not run for bulk updates
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt WHERE o.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("status") OrderStatus status,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Streaming projections for exports - rows are read through a forward-only cursor in
+    // fetch-size batches; the caller must consume and close the stream inside a transaction
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new springboot.dto.OrderDTO(o.id, o.totalAmount, o.status, o.orderDate, u.id, u.username) " +
+            "FROM Order o JOIN o.user u WHERE o.status = :status")
+    Stream<OrderDTO> streamDTOsByStatus(@Param("status") OrderStatus status);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new springboot.dto.OrderDTO(o.id, o.totalAmount, o.status, o.orderDate, u.id, u.username) " +
+            "FROM Order o JOIN o.user u WHERE o.orderDate BETWEEN :startDate AND :endDate")
+    Stream<OrderDTO> streamDTOsByOrderDateBetween(@Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate);
+
     // Custom query to find orders with amount in range
     @Query("SELECT o FROM Order o WHERE o.totalAmount BETWEEN :minAmount AND :maxAmount")
     List<Order> findOrdersInAmountRange(@Param("minAmount") BigDecimal minAmount,
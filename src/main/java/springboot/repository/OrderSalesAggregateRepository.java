@@ -0,0 +1,175 @@
+package springboot.repository;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import springboot.dto.SalesBucket;
+import springboot.model.Order.OrderStatus;
+
+/**
+ * Repository for the precomputed sales aggregates in order_sales_daily; per-status totals are
+ * summed from the daily buckets.
+ * Uses JdbcTemplate because the maintenance statements are additive MERGEs, which JPA cannot express.
+ */
+@Repository
+public class OrderSalesAggregateRepository {
+
+    private static final String MERGE_DAILY_SQL =
+            "MERGE INTO order_sales_daily t " +
+                    "USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS DATE), CAST(? AS BIGINT), CAST(? AS NUMERIC(38, 2)))) " +
+                    "AS s(status, bucket_date, order_count, total_amount) " +
+                    "ON t.status = s.status AND t.bucket_date = s.bucket_date " +
+                    "WHEN MATCHED THEN UPDATE SET order_count = t.order_count + s.order_count, " +
+                    "total_amount = t.total_amount + s.total_amount " +
+                    "WHEN NOT MATCHED THEN INSERT (status, bucket_date, order_count, total_amount) " +
+                    "VALUES (s.status, s.bucket_date, s.order_count, s.total_amount)";
+
+    private static final String SET_DAILY_SQL =
+            "MERGE INTO order_sales_daily t " +
+                    "USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS DATE), CAST(? AS BIGINT), CAST(? AS NUMERIC(38, 2)))) " +
+                    "AS s(status, bucket_date, order_count, total_amount) " +
+                    "ON t.status = s.status AND t.bucket_date = s.bucket_date " +
+                    "WHEN MATCHED THEN UPDATE SET order_count = s.order_count, total_amount = s.total_amount " +
+                    "WHEN NOT MATCHED THEN INSERT (status, bucket_date, order_count, total_amount) " +
+                    "VALUES (s.status, s.bucket_date, s.order_count, s.total_amount)";
+
+    private static final String INSERT_DAILY_IF_ABSENT_SQL =
+            "MERGE INTO order_sales_daily t " +
+                    "USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS DATE), CAST(? AS BIGINT), CAST(? AS NUMERIC(38, 2)))) " +
+                    "AS s(status, bucket_date, order_count, total_amount) " +
+                    "ON t.status = s.status AND t.bucket_date = s.bucket_date " +
+                    "WHEN NOT MATCHED THEN INSERT (status, bucket_date, order_count, total_amount) " +
+                    "VALUES (s.status, s.bucket_date, s.order_count, s.total_amount)";
+
+    private static final String GROUP_ORDERS_SQL =
+            "SELECT status, CAST(order_date AS DATE) AS bucket_date, COUNT(*) AS order_count, " +
+                    "SUM(total_amount) AS total_amount FROM orders_all ";
+
+    // Primary key order of order_sales_daily
+    private static final Comparator<SalesBucket> BUCKET_ORDER =
+            Comparator.comparing((SalesBucket bucket) -> bucket.getStatus().name()).thenComparing(SalesBucket::getDate);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OrderSalesAggregateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add signed deltas to the daily buckets, in primary key order so concurrent writers and
+     * the reconcile lock the rows in the same order.
+     */
+    public void applyDeltas(List<SalesBucket> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<SalesBucket> ordered = deltas.stream().sorted(BUCKET_ORDER).toList();
+        jdbcTemplate.batchUpdate(MERGE_DAILY_SQL, ordered, ordered.size(), this::setBucket);
+    }
+
+    /**
+     * Total sales for a status, summed over its daily buckets. Null if no order ever had the status.
+     */
+    public BigDecimal findTotalAmount(OrderStatus status) {
+        return jdbcTemplate.queryForObject(
+                "SELECT SUM(total_amount) FROM order_sales_daily WHERE status = ?", BigDecimal.class, status.name());
+    }
+
+    public List<SalesBucket> findDaily(OrderStatus status, LocalDate startDate, LocalDate endDate) {
+        return jdbcTemplate.query(
+                "SELECT status, bucket_date, order_count, total_amount FROM order_sales_daily " +
+                        "WHERE status = ? AND bucket_date BETWEEN ? AND ? ORDER BY bucket_date",
+                this::mapBucket, status.name(), Date.valueOf(startDate), Date.valueOf(endDate));
+    }
+
+    /**
+     * Every daily bucket, read without locks.
+     */
+    public List<SalesBucket> findAllDaily() {
+        return jdbcTemplate.query(
+                "SELECT status, bucket_date, order_count, total_amount FROM order_sales_daily", this::mapBucket);
+    }
+
+    /**
+     * The daily buckets of one date, locked in primary key order until the transaction ends
+     * so no delta can be applied to them meanwhile.
+     */
+    public List<SalesBucket> lockDaily(LocalDate date) {
+        return jdbcTemplate.query(
+                "SELECT status, bucket_date, order_count, total_amount FROM order_sales_daily " +
+                        "WHERE bucket_date = ? ORDER BY status FOR UPDATE", this::mapBucket, Date.valueOf(date));
+    }
+
+    /**
+     * Recompute the daily buckets from every order, hot or archived.
+     */
+    public List<SalesBucket> computeDailyFromOrders() {
+        return jdbcTemplate.query(GROUP_ORDERS_SQL + "GROUP BY status, CAST(order_date AS DATE)", this::mapBucket);
+    }
+
+    /**
+     * Recompute the daily buckets of one date from the orders placed on it, hot or archived.
+     */
+    public List<SalesBucket> computeDailyFromOrders(LocalDate date) {
+        return jdbcTemplate.query(
+                GROUP_ORDERS_SQL + "WHERE order_date >= ? AND order_date < ? GROUP BY status, CAST(order_date AS DATE)",
+                this::mapBucket, Timestamp.valueOf(date.atStartOfDay()), Timestamp.valueOf(date.plusDays(1).atStartOfDay()));
+    }
+
+    /**
+     * Daily buckets of a single user's orders, used to subtract them when the user is deleted.
+     */
+    public List<SalesBucket> computeDailyForUser(Long userId) {
+        return jdbcTemplate.query(
+                GROUP_ORDERS_SQL + "WHERE user_id = ? GROUP BY status, CAST(order_date AS DATE)",
+                this::mapBucket, userId);
+    }
+
+    /**
+     * Overwrite the daily buckets with the given values, inserting the missing ones.
+     */
+    public void setDaily(List<SalesBucket> buckets) {
+        jdbcTemplate.batchUpdate(SET_DAILY_SQL, buckets, 500, this::setBucket);
+    }
+
+    /**
+     * Insert the daily buckets that do not exist yet, leaving existing ones untouched.
+     */
+    public void insertDailyIfAbsent(List<SalesBucket> buckets) {
+        jdbcTemplate.batchUpdate(INSERT_DAILY_IF_ABSENT_SQL, buckets, 500, this::setBucket);
+    }
+
+    public void deleteDaily(List<SalesBucket> buckets) {
+        jdbcTemplate.batchUpdate("DELETE FROM order_sales_daily WHERE status = ? AND bucket_date = ?",
+                buckets, 500, (ps, bucket) -> {
+                    ps.setString(1, bucket.getStatus().name());
+                    ps.setDate(2, Date.valueOf(bucket.getDate()));
+                });
+    }
+
+    private void setBucket(PreparedStatement ps, SalesBucket bucket) throws SQLException {
+        ps.setString(1, bucket.getStatus().name());
+        ps.setDate(2, Date.valueOf(bucket.getDate()));
+        ps.setLong(3, bucket.getOrderCount());
+        ps.setBigDecimal(4, bucket.getTotalAmount());
+    }
+
+    private SalesBucket mapBucket(ResultSet rs, int rowNum) throws SQLException {
+        return new SalesBucket(
+                OrderStatus.valueOf(rs.getString("status")),
+                rs.getDate("bucket_date").toLocalDate(),
+                rs.getLong("order_count"),
+                rs.getBigDecimal("total_amount"));
+    }
+}
@@ -1,12 +1,21 @@
 package springboot.repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import springboot.dto.UserDTO;
 import springboot.model.User;
 import springboot.model.User.UserStatus;
 
@@ -27,17 +36,47 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Check if user exists by username or email - derived query method
     boolean existsByUsernameOrEmail(String username, String email);
 
-    // Find users by status - derived query method
-    List<User> findByStatus(UserStatus status);
+    // Usernames of other users already holding the given username or email, in one
+    // lookup on the unique indexes; the caller tells the two conflicts apart by username
+    @Query("SELECT u.username FROM User u " +
+            "WHERE (u.username = :username OR u.email = :email) AND u.id <> :id")
+    List<String> findConflictingUsernames(@Param("id") Long id,
+                                          @Param("username") String username,
+                                          @Param("email") String email);
 
-    // Custom query using JPQL
-    @Query("SELECT u FROM User u WHERE u.username LIKE %:keyword% OR u.email LIKE %:keyword%")
-    List<User> searchUsers(@Param("keyword") String keyword);
+    // Resolve a username to its id, served by the unique index on username
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
 
-    // Native SQL query example
-    @Query(value = "SELECT * FROM users WHERE created_at >= CURRENT_DATE - INTERVAL '30 days'",
-            nativeQuery = true)
-    List<User> findRecentUsers();
+    // Resolve which of the given ids exist, without loading the entities
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Keyset-paginated users, positioned after the last seen sort key
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // DTO projections - select only the columns UserDTO needs, never the password or orders
+    @Query("SELECT new springboot.dto.UserDTO(u.id, u.username, u.email, u.status, u.createdAt, u.updatedAt) " +
+            "FROM User u WHERE u.id = :id")
+    Optional<UserDTO> findDTOById(@Param("id") Long id);
+
+
+    @Query("SELECT new springboot.dto.UserDTO(u.id, u.username, u.email, u.status, u.createdAt, u.updatedAt) " +
+            "FROM User u WHERE u.id IN :ids")
+    List<UserDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new springboot.dto.UserDTO(u.id, u.username, u.email, u.status, u.createdAt, u.updatedAt) " +
+            "FROM User u WHERE u.status = :status")
+    List<UserDTO> findDTOsByStatus(@Param("status") UserStatus status);
+
+    @Query("SELECT new springboot.dto.UserDTO(u.id, u.username, u.email, u.status, u.createdAt, u.updatedAt) " +
+            "FROM User u WHERE u.createdAt >= :since")
+    List<UserDTO> findDTOsCreatedSince(@Param("since") LocalDateTime since);
+
+    @Query(value = "SELECT new springboot.dto.UserDTO(u.id, u.username, u.email, u.status, u.createdAt, u.updatedAt) " +
+            "FROM User u",
+            countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserDTO> findAllDTOs(Pageable pageable);
 
     // Custom query counting users by status
     @Query("SELECT COUNT(u) FROM User u WHERE u.status = :status")
@@ -0,0 +1,85 @@
+package springboot.repository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the user search index (user_search_grams).
+ * Every lookup is an equality match on the (gram, user_id) primary key, so no query
+ * needs a leading-wildcard LIKE scan over the users table; LIKE only re-checks the
+ * candidate users the index returns.
+ */
+@Repository
+public class UserSearchIndexRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public UserSearchIndexRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replace the grams indexed for a user.
+     */
+    public void replaceGrams(Long userId, Collection<String> grams) {
+        deleteGrams(userId);
+
+        List<MapSqlParameterSource> rows = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            rows.add(new MapSqlParameterSource().addValue("gram", gram).addValue("userId", userId));
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_search_grams (gram, user_id) VALUES (:gram, :userId)",
+                rows.toArray(new MapSqlParameterSource[0]));
+    }
+
+    public void deleteGrams(Long userId) {
+        jdbcTemplate.update("DELETE FROM user_search_grams WHERE user_id = :userId", Map.of("userId", userId));
+    }
+
+    /**
+     * One page of the ids of users indexed under every one of the given grams whose username
+     * or email really contains the keyword, best match first: exact username, exact email,
+     * username prefix, email prefix, username substring, email substring; then shorter
+     * usernames, then id. Ranking happens before the page is cut, so every match is reachable.
+     * Short keywords (substring false) only match as prefixes.
+     */
+    public List<Long> findRankedUserIds(Collection<String> grams, String keyword, boolean substring,
+                                        long offset, int limit) {
+        String escaped = keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("grams", grams)
+                .addValue("gramCount", grams.size())
+                .addValue("keyword", keyword)
+                .addValue("prefix", escaped + "%")
+                .addValue("pattern", substring ? "%" + escaped + "%" : escaped + "%")
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(
+                "SELECT u.id FROM users u JOIN (" +
+                        "SELECT user_id FROM user_search_grams WHERE gram IN (:grams) " +
+                        "GROUP BY user_id HAVING COUNT(*) = :gramCount) m ON m.user_id = u.id " +
+                        "WHERE LOWER(u.username) LIKE :pattern ESCAPE '\\' OR LOWER(u.email) LIKE :pattern ESCAPE '\\' " +
+                        "ORDER BY CASE " +
+                        "WHEN LOWER(u.username) = :keyword THEN 6 " +
+                        "WHEN LOWER(u.email) = :keyword THEN 5 " +
+                        "WHEN LOWER(u.username) LIKE :prefix ESCAPE '\\' THEN 4 " +
+                        "WHEN LOWER(u.email) LIKE :prefix ESCAPE '\\' THEN 3 " +
+                        "WHEN LOWER(u.username) LIKE :pattern ESCAPE '\\' THEN 2 " +
+                        "ELSE 1 END DESC, LENGTH(u.username), u.id " +
+                        "LIMIT :limit OFFSET :offset",
+                params, Long.class);
+    }
+
+    public boolean isEmpty() {
+        List<Long> any = jdbcTemplate.queryForList(
+                "SELECT user_id FROM user_search_grams LIMIT 1", Map.of(), Long.class);
+        return any.isEmpty();
+    }
+}
@@ -0,0 +1,95 @@
+package springboot.service;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Encodes keyset scroll positions as opaque cursor tokens and back.
+ * A token is the URL-safe Base64 of a JSON object holding the last row's sort key and id,
+ * e.g. {"orderDate":"2024-01-31T10:15:00","id":42}.
+ */
+@Component
+public class CursorCodec {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> KEYS_TYPE = new TypeReference<>() {
+    };
+
+    // Rows per cursor slice, so one request stays one bounded query
+    private static final int MAX_SLICE_SIZE = 1000;
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public CursorCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Build the sort used for keyset pagination: the requested property, with id as tie-breaker
+     * so that every row has a unique position.
+     */
+    public Sort keysetSort(String sortBy, String direction) {
+        Sort.Direction sortDirection = direction.equalsIgnoreCase(Sort.Direction.ASC.name()) ?
+                Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(sortDirection, sortBy);
+        return sortBy.equals("id") ? sort : sort.and(Sort.by(sortDirection, "id"));
+    }
+
+    /**
+     * Reject slice sizes outside 1..1000.
+     */
+    public void checkSliceSize(int size) {
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+    }
+
+    public String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded as cursors");
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(keyset.getKeys());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    /**
+     * Decode a cursor issued for the same entity type and sort. Key values are converted back
+     * to the entity's property types so they compare correctly in the keyset predicate.
+     */
+    public KeysetScrollPosition decode(String cursor, Class<?> entityType, Sort sort) {
+        Map<String, Object> rawKeys;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            rawKeys = objectMapper.readValue(new String(json, StandardCharsets.UTF_8), KEYS_TYPE);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            if (!rawKeys.containsKey(property)) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort: " + cursor);
+            }
+            Class<?> propertyType = BeanUtils.findPropertyType(property, entityType);
+            keys.put(property, objectMapper.convertValue(rawKeys.get(property), propertyType));
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,163 @@
+package springboot.service;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import springboot.analytics.OrderColumns;
+import springboot.analytics.OrderColumns.Aggregate;
+import springboot.analytics.OrderColumns.Filter;
+import springboot.dto.SalesBucket;
+import springboot.model.Order.OrderStatus;
+import springboot.repository.OrderAnalyticsRepository;
+
+/**
+ * Service answering order reporting queries from an in-memory columnar snapshot instead of
+ * the database. The snapshot is rebuilt every app.analytics.refresh-interval-ms and saved to
+ * app.analytics.snapshot-file; at startup a saved snapshot younger than the interval is
+ * loaded instead of rebuilt, provided it was built from the data now in the database. Answers are as of the snapshot time, which every result reports.
+ * All bounds are inclusive and every parameter is optional.
+ */
+@Service
+public class OrderAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderAnalyticsService.class);
+
+    private final OrderAnalyticsRepository analyticsRepository;
+    private final Path snapshotFile;
+    private final Duration refreshInterval;
+    private volatile OrderColumns snapshot = OrderColumns.empty();
+
+    @Autowired
+    public OrderAnalyticsService(OrderAnalyticsRepository analyticsRepository,
+                                 @Value("${app.analytics.snapshot-file:data/orders.columns}") Path snapshotFile,
+                                 @Value("${app.analytics.refresh-interval-ms:300000}") long refreshIntervalMillis) {
+        this.analyticsRepository = analyticsRepository;
+        this.snapshotFile = snapshotFile;
+        this.refreshInterval = Duration.ofMillis(refreshIntervalMillis);
+    }
+
+    /**
+     * Load the saved snapshot if it is recent enough and its source version matches the
+     * database (an in-memory database starts empty on every restart), otherwise build a new one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        if (Files.isReadable(snapshotFile)) {
+            try {
+                OrderColumns saved = OrderColumns.readFrom(snapshotFile);
+                if (saved.getCreatedAt().isAfter(Instant.now().minus(refreshInterval))
+                        && saved.getSourceVersion().equals(analyticsRepository.findSourceVersion())) {
+                    snapshot = saved;
+                    log.info("Loaded order snapshot of {} orders from {}", saved.size(), snapshotFile);
+                    return;
+                }
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable order snapshot {}: {}", snapshotFile, e.getMessage());
+            }
+        }
+        refresh();
+    }
+
+    /**
+     * Rebuild the snapshot from the orders tables and save it.
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.refresh-interval-ms:300000}",
+            initialDelayString = "${app.analytics.refresh-interval-ms:300000}")
+    public void refresh() {
+        long start = System.nanoTime();
+        OrderColumns columns = analyticsRepository.loadColumns();
+        snapshot = columns;
+        try {
+            columns.writeTo(snapshotFile);
+        } catch (IOException e) {
+            // The in-memory snapshot still serves queries; only the next startup has to rebuild
+            log.warn("Could not save order snapshot to {}: {}", snapshotFile, e.getMessage());
+        }
+        log.info("Built order snapshot of {} orders in {} ms", columns.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public LocalDateTime getSnapshotTime() {
+        return LocalDateTime.ofInstant(snapshot.getCreatedAt(), ZoneId.systemDefault());
+    }
+
+    /**
+     * Count and total of the matching orders. The result's status is the filter's status.
+     */
+    public SalesBucket summarize(OrderStatus status, BigDecimal minAmount, BigDecimal maxAmount,
+                                 LocalDateTime startDate, LocalDateTime endDate) {
+        Aggregate aggregate = snapshot.aggregate(filter(status, minAmount, maxAmount, startDate, endDate));
+        return toBucket(status, null, aggregate);
+    }
+
+    /**
+     * Count and total of the matching orders for each status.
+     */
+    public List<SalesBucket> summarizeByStatus(BigDecimal minAmount, BigDecimal maxAmount,
+                                               LocalDateTime startDate, LocalDateTime endDate) {
+        Aggregate[] byStatus = snapshot.aggregateByStatus(filter(null, minAmount, maxAmount, startDate, endDate));
+        List<SalesBucket> buckets = new ArrayList<>(byStatus.length);
+        for (OrderStatus status : OrderStatus.values()) {
+            buckets.add(toBucket(status, null, byStatus[status.ordinal()]));
+        }
+        return buckets;
+    }
+
+    /**
+     * Count and total of the matching orders for each day from startDate to endDate.
+     */
+    public List<SalesBucket> summarizeByDay(OrderStatus status, BigDecimal minAmount, BigDecimal maxAmount,
+                                            LocalDate startDate, LocalDate endDate) {
+        Aggregate[] byDay = snapshot.aggregateByDay(filter(status, minAmount, maxAmount, null, null),
+                startDate, endDate);
+        List<SalesBucket> buckets = new ArrayList<>(byDay.length);
+        for (int d = 0; d < byDay.length; d++) {
+            buckets.add(toBucket(status, startDate.plusDays(d), byDay[d]));
+        }
+        return buckets;
+    }
+
+    /**
+     * Ids of up to limit matching orders, for fetching the orders themselves.
+     */
+    public long[] findOrderIds(OrderStatus status, BigDecimal minAmount, BigDecimal maxAmount,
+                               LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        return snapshot.findIds(filter(status, minAmount, maxAmount, startDate, endDate), limit);
+    }
+
+    private static Filter filter(OrderStatus status, BigDecimal minAmount, BigDecimal maxAmount,
+                                 LocalDateTime startDate, LocalDateTime endDate) {
+        return new Filter(
+                // Round the bounds inwards so amounts between cents are handled like the database would
+                minAmount == null ? Long.MIN_VALUE : toCents(minAmount.setScale(2, RoundingMode.CEILING)),
+                maxAmount == null ? Long.MAX_VALUE : toCents(maxAmount.setScale(2, RoundingMode.FLOOR)),
+                startDate == null ? Long.MIN_VALUE : OrderColumns.toMillis(startDate),
+                endDate == null ? Long.MAX_VALUE : OrderColumns.toMillis(endDate),
+                Filter.mask(status));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    private static SalesBucket toBucket(OrderStatus status, LocalDate date, Aggregate aggregate) {
+        return new SalesBucket(status, date, aggregate.count(), BigDecimal.valueOf(aggregate.amountCents(), 2));
+    }
+}
@@ -0,0 +1,99 @@
+package springboot.service;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import springboot.dto.OrderStatusUpdateRequest;
+import springboot.model.Order.OrderStatus;
+import springboot.repository.OrderArchiveRepository;
+
+/**
+ * Service keeping the orders table small: a scheduled job moves DELIVERED and CANCELED orders
+ * older than app.orders.archive.older-than to orders_archive, in batches of one transaction each.
+ * OrderService asks it which reads can skip the archive, and calls restore before changing an
+ * archived order, so the archive only ever holds terminal orders nobody is writing to.
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    private static final Set<OrderStatus> ARCHIVED_STATUSES = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELED);
+
+    private final OrderArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration olderThan;
+    private final int batchSize;
+
+    @Autowired
+    public OrderArchiveService(OrderArchiveRepository archiveRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.orders.archive.older-than:30d}") Duration olderThan,
+                               @Value("${app.orders.archive.batch-size:1000}") int batchSize) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.olderThan = olderThan;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Move every archivable order to the archive. Returns the number of orders moved.
+     * Each batch commits on its own, so hot-table locks are held for one batch at a time.
+     */
+    @Scheduled(cron = "${app.orders.archive.cron:0 30 3 * * *}")
+    public int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(olderThan);
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(
+                    status -> archiveRepository.archiveBatch(ARCHIVED_STATUSES, cutoff, batchSize));
+            total += moved;
+        } while (moved == batchSize);
+
+        log.info("Archived {} orders placed before {}", total, cutoff);
+        return total;
+    }
+
+    /**
+     * Whether archived orders can have the status. Only terminal statuses are archived.
+     */
+    public boolean archiveMayHold(OrderStatus status) {
+        return ARCHIVED_STATUSES.contains(status);
+    }
+
+    /**
+     * Whether archived orders can have an order date at or after startDate.
+     */
+    public boolean archiveMayHold(LocalDateTime startDate) {
+        LocalDateTime latest = archiveRepository.findLatestOrderDate();
+        return latest != null && !latest.isBefore(startDate);
+    }
+
+    /**
+     * Move the archived orders among the ids back to the orders table, in the caller's transaction.
+     * Returns the number moved.
+     */
+    public int restore(Collection<Long> ids) {
+        return ids.isEmpty() ? 0 : archiveRepository.restore(ids);
+    }
+
+    /**
+     * Move the archived orders a bulk status update selects back to the orders table, in the
+     * caller's transaction.
+     */
+    public int restoreMatching(OrderStatusUpdateRequest request) {
+        return archiveRepository.restoreMatching(request);
+    }
+}
@@ -0,0 +1,352 @@
+package springboot.service;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import springboot.cache.EntityCache;
+import springboot.dto.OrderBatchResult;
+import springboot.dto.OrderBatchRow;
+import springboot.dto.OrderDTO;
+import springboot.dto.SalesBucket;
+import springboot.model.Order;
+import springboot.model.Order.OrderStatus;
+import springboot.repository.UserRepository;
+
+/**
+ * Service for bulk order imports.
+ * Rows are read one at a time from the request body and written in chunks:
+ * each chunk resolves its users with one query and inserts its orders with
+ * one JDBC batch inside its own transaction, so memory stays bounded and a
+ * bad row only rejects itself. A chunk that fails is rolled back on its own;
+ * the result lists every chunk so the caller knows which rows were written.
+ */
+@Service
+public class OrderBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBatchService.class);
+
+    private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
+
+    private static final String INSERT_ORDER_SQL =
+            "INSERT INTO orders (id, user_id, total_amount, status, order_date, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String NEXT_ORDER_ID_BLOCK_SQL = "SELECT NEXT VALUE FOR orders_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final OrderSalesAggregateService salesAggregates;
+    private final EntityCache<Long, List<OrderDTO>> userOrdersCache;
+    private final int chunkSize;
+
+    @Autowired
+    public OrderBatchService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             UserRepository userRepository,
+                             ObjectMapper objectMapper,
+                             OrderSalesAggregateService salesAggregates,
+                             EntityCache<Long, List<OrderDTO>> userOrdersCache,
+                             @Value("${app.orders.batch.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.salesAggregates = salesAggregates;
+        this.userOrdersCache = userOrdersCache;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import orders from a JSON array or an NDJSON stream.
+     * Chunks that were already written stay committed if a later chunk fails; the failed
+     * chunk's rows are reported as rejected and the import carries on with the next chunk.
+     */
+    public OrderBatchResult importOrders(InputStream body, boolean ndjson) throws IOException {
+        OrderBatchResult result = new OrderBatchResult();
+        List<IndexedRow> chunk = new ArrayList<>(chunkSize);
+
+        try (RowReader reader = ndjson ? new NdjsonRowReader(body) : new JsonArrayRowReader(body)) {
+            IndexedRow row;
+            while ((row = reader.next()) != null) {
+                String error = row.error != null ? row.error : validate(row.row);
+                if (error != null) {
+                    result.recordRejected(row.index, error);
+                    continue;
+                }
+
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, result);
+        }
+        return result;
+    }
+
+    /**
+     * Write one chunk in its own transaction and record its outcome once the transaction
+     * has committed or rolled back, so a rolled back chunk never reports rows as created.
+     */
+    private void writeChunk(List<IndexedRow> chunk, OrderBatchResult result) {
+        long firstIndex = chunk.get(0).index;
+        long lastIndex = chunk.get(chunk.size() - 1).index;
+
+        List<IndexedRow> unknownUsers;
+        try {
+            unknownUsers = transactionTemplate.execute(status -> insertChunk(chunk));
+        } catch (RuntimeException e) {
+            log.error("Failed to import order rows {}-{}", firstIndex, lastIndex, e);
+            for (IndexedRow row : chunk) {
+                result.recordRejected(row.index, "Not written: the chunk containing this row failed");
+            }
+            result.recordChunk(firstIndex, lastIndex, 0, false);
+            return;
+        }
+
+        for (IndexedRow row : unknownUsers) {
+            result.recordRejected(row.index,
+                    String.format("User not found with id : '%s'", row.row.getUserId()));
+        }
+        int created = chunk.size() - unknownUsers.size();
+        result.recordCreated(created);
+        result.recordChunk(firstIndex, lastIndex, created, true);
+    }
+
+    /**
+     * Resolve the users referenced by a chunk in one query and insert the valid rows as one JDBC batch.
+     * Returns the rows whose user does not exist.
+     */
+    private List<IndexedRow> insertChunk(List<IndexedRow> chunk) {
+        Set<Long> userIds = new HashSet<>();
+        for (IndexedRow row : chunk) {
+            userIds.add(row.row.getUserId());
+        }
+        Set<Long> existingUserIds = new HashSet<>(userRepository.findExistingIds(userIds));
+
+        List<OrderBatchRow> valid = new ArrayList<>(chunk.size());
+        List<IndexedRow> unknownUsers = new ArrayList<>();
+        for (IndexedRow row : chunk) {
+            if (existingUserIds.contains(row.row.getUserId())) {
+                valid.add(row.row);
+            } else {
+                unknownUsers.add(row);
+            }
+        }
+
+        long[] ids = allocateOrderIds(valid.size());
+        LocalDateTime orderDate = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(orderDate);
+        jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OrderBatchRow row = valid.get(i);
+                ps.setLong(1, ids[i]);
+                ps.setLong(2, row.getUserId());
+                ps.setBigDecimal(3, row.getAmount());
+                ps.setString(4, OrderStatus.PENDING.name());
+                ps.setTimestamp(5, now);
+                ps.setTimestamp(6, now);
+                ps.setTimestamp(7, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return valid.size();
+            }
+        });
+
+        BigDecimal chunkTotal = BigDecimal.ZERO;
+        for (OrderBatchRow row : valid) {
+            chunkTotal = chunkTotal.add(row.getAmount());
+        }
+        if (!valid.isEmpty()) {
+            salesAggregates.recordCreated(List.of(new SalesBucket(
+                    OrderStatus.PENDING, orderDate.toLocalDate(), valid.size(), chunkTotal)));
+        }
+        existingUserIds.forEach(userOrdersCache::evictAfterCommit);
+        return unknownUsers;
+    }
+
+    /**
+     * Reserve ids the same way Hibernate's pooled-lo optimizer does: every sequence value
+     * is the first of Order.ID_ALLOCATION_SIZE consecutive ids that belong to the caller.
+     */
+    private long[] allocateOrderIds(int count) {
+        long[] ids = new long[count];
+        long next = 0;
+        int remaining = 0;
+        for (int i = 0; i < count; i++) {
+            if (remaining == 0) {
+                next = jdbcTemplate.queryForObject(NEXT_ORDER_ID_BLOCK_SQL, Long.class);
+                remaining = Order.ID_ALLOCATION_SIZE;
+            }
+            ids[i] = next++;
+            remaining--;
+        }
+        return ids;
+    }
+
+    /**
+     * Apply the same rules as the Order entity validation annotations.
+     */
+    private String validate(OrderBatchRow row) {
+        if (row.getUserId() == null) {
+            return "User id is required";
+        }
+        if (row.getAmount() == null) {
+            return "Order amount is required";
+        }
+        if (row.getAmount().compareTo(MIN_AMOUNT) < 0) {
+            return "Order amount must be greater than 0";
+        }
+        return null;
+    }
+
+    /**
+     * A parsed row, or the reason it could not be parsed, with its position in the body.
+     */
+    private static class IndexedRow {
+        private final long index;
+        private final OrderBatchRow row;
+        private final String error;
+
+        private IndexedRow(long index, OrderBatchRow row, String error) {
+            this.index = index;
+            this.row = row;
+            this.error = error;
+        }
+    }
+
+    private interface RowReader extends Closeable {
+        /**
+         * Returns the next row, or null once the body is exhausted.
+         */
+        IndexedRow next() throws IOException;
+    }
+
+    private IndexedRow toRow(long index, JsonNode node) {
+        if (node == null || !node.isObject()) {
+            return new IndexedRow(index, null, "Each order row must be a JSON object");
+        }
+        try {
+            return new IndexedRow(index, objectMapper.treeToValue(node, OrderBatchRow.class), null);
+        } catch (JsonProcessingException e) {
+            return new IndexedRow(index, null, "Invalid order row: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Reads one JSON object per line. A malformed line only rejects that line.
+     */
+    private class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+        private long index = 0;
+
+        private NdjsonRowReader(InputStream body) {
+            this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public IndexedRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                long current = index++;
+                try {
+                    return toRow(current, objectMapper.readTree(line));
+                } catch (JsonProcessingException e) {
+                    return new IndexedRow(current, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Walks a top-level JSON array element by element without materializing it.
+     * A syntax error ends the stream, since the rest of the array cannot be located reliably.
+     */
+    private class JsonArrayRowReader implements RowReader {
+        private final JsonParser parser;
+        private long index = 0;
+        private boolean started = false;
+        private boolean finished = false;
+
+        private JsonArrayRowReader(InputStream body) throws IOException {
+            this.parser = objectMapper.getFactory().createParser(body);
+        }
+
+        @Override
+        public IndexedRow next() throws IOException {
+            if (finished) {
+                return null;
+            }
+            try {
+                if (!started) {
+                    started = true;
+                    if (parser.nextToken() != JsonToken.START_ARRAY) {
+                        finished = true;
+                        return new IndexedRow(0, null, "Request body must be a JSON array of orders");
+                    }
+                }
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    finished = true;
+                    return null;
+                }
+                JsonNode node = parser.readValueAsTree();
+                return toRow(index++, node);
+            } catch (JsonProcessingException e) {
+                finished = true;
+                return new IndexedRow(index, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package springboot.service;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import springboot.dto.ExportFormat;
+import springboot.dto.OrderDTO;
+
+/**
+ * Writes orders to an output stream one row at a time, as NDJSON or CSV.
+ * Nothing is retained between rows, so memory use does not depend on the export size.
+ * Output is only flushed when the underlying buffer fills and on close.
+ */
+public class OrderExportWriter implements Consumer<OrderDTO>, Closeable {
+
+    private static final String CSV_HEADER = "id,totalAmount,status,orderDate,userId,username";
+
+    private final ExportFormat format;
+    private final BufferedWriter writer;
+    private final JsonGenerator generator;
+    private final ObjectWriter jsonWriter;
+
+    public OrderExportWriter(ExportFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.NDJSON) {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are separated by the newline written after each one, not by Jackson's default space
+            this.generator.setRootValueSeparator(null);
+            this.jsonWriter = objectMapper.writerFor(OrderDTO.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        } else {
+            this.generator = null;
+            this.jsonWriter = null;
+            writer.write(CSV_HEADER);
+            writer.newLine();
+        }
+    }
+
+    @Override
+    public void accept(OrderDTO order) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                jsonWriter.writeValue(generator, order);
+                generator.writeRaw('\n');
+            } else {
+                writeCsvRow(order);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsvRow(OrderDTO order) throws IOException {
+        writer.write(String.valueOf(order.getId()));
+        writer.write(',');
+        writer.write(order.getTotalAmount() != null ? order.getTotalAmount().toPlainString() : "");
+        writer.write(',');
+        writer.write(order.getStatus() != null ? order.getStatus().name() : "");
+        writer.write(',');
+        writer.write(order.getOrderDate() != null ? order.getOrderDate().toString() : "");
+        writer.write(',');
+        writer.write(String.valueOf(order.getUserId()));
+        writer.write(',');
+        writeCsvField(order.getUsername());
+        writer.newLine();
+    }
+
+    private void writeCsvField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,241 @@
+package springboot.service;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import springboot.dto.OrderDTO;
+import springboot.dto.SalesBucket;
+import springboot.model.Order.OrderStatus;
+import springboot.repository.OrderSalesAggregateRepository;
+
+/**
+ * Service maintaining per-status sales aggregates, in total and per day.
+ * Order write paths report their changes here in the same transaction, so reading
+ * total sales sums one row per day instead of one per order. There is no per-status
+ * total row, which every write would have to update and so would serialize the writers.
+ * A scheduled job reconciles the aggregates against the orders table and repairs drift.
+ */
+@Service
+public class OrderSalesAggregateService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSalesAggregateService.class);
+
+    private final OrderSalesAggregateRepository aggregateRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public OrderSalesAggregateService(OrderSalesAggregateRepository aggregateRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.aggregateRepository = aggregateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Record a newly created order.
+     */
+    @Transactional
+    public void recordCreated(OrderStatus status, LocalDateTime orderDate, BigDecimal amount) {
+        aggregateRepository.applyDeltas(List.of(new SalesBucket(status, orderDate.toLocalDate(), 1, amount)));
+    }
+
+    /**
+     * Record many orders created together, already grouped into buckets.
+     */
+    @Transactional
+    public void recordCreated(List<SalesBucket> buckets) {
+        aggregateRepository.applyDeltas(buckets);
+    }
+
+    /**
+     * Move an order's amount from its old status bucket to the new one.
+     */
+    @Transactional
+    public void recordStatusChange(OrderStatus oldStatus, OrderStatus newStatus,
+                                   LocalDateTime orderDate, BigDecimal amount) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        LocalDate date = orderDate.toLocalDate();
+        aggregateRepository.applyDeltas(List.of(
+                new SalesBucket(oldStatus, date, -1, amount.negate()),
+                new SalesBucket(newStatus, date, 1, amount)));
+    }
+
+    /**
+     * Move each order to its target status, with one delta per status and day applied in a
+     * single batch, so the buckets are locked in one pass in primary key order.
+     * Orders already in their target status are skipped.
+     */
+    @Transactional
+    public void recordStatusChanges(List<OrderDTO> orders, Map<Long, OrderStatus> targetStatuses) {
+        Map<String, SalesBucket> deltas = new LinkedHashMap<>();
+        for (OrderDTO order : orders) {
+            addMove(deltas, new SalesBucket(order.getStatus(), order.getOrderDate().toLocalDate(),
+                    1, order.getTotalAmount()), targetStatuses.get(order.getId()));
+        }
+        aggregateRepository.applyDeltas(List.copyOf(deltas.values()));
+    }
+
+    /**
+     * Move orders, summarized as daily buckets of their current status, to a new status.
+     */
+    @Transactional
+    public void recordBulkStatusChange(List<SalesBucket> moved, OrderStatus newStatus) {
+        Map<String, SalesBucket> deltas = new LinkedHashMap<>();
+        for (SalesBucket bucket : moved) {
+            addMove(deltas, bucket, newStatus);
+        }
+        aggregateRepository.applyDeltas(List.copyOf(deltas.values()));
+    }
+
+    private static void addMove(Map<String, SalesBucket> deltas, SalesBucket moved, OrderStatus newStatus) {
+        if (moved.getStatus() == newStatus) {
+            return;
+        }
+        addDelta(deltas, moved.getStatus(), moved.getDate(), -moved.getOrderCount(), moved.getTotalAmount().negate());
+        addDelta(deltas, newStatus, moved.getDate(), moved.getOrderCount(), moved.getTotalAmount());
+    }
+
+    private static void addDelta(Map<String, SalesBucket> deltas, OrderStatus status, LocalDate date,
+                                 long count, BigDecimal amount) {
+        deltas.merge(status + "@" + date, new SalesBucket(status, date, count, amount),
+                (a, b) -> new SalesBucket(status, date, a.getOrderCount() + b.getOrderCount(),
+                        a.getTotalAmount().add(b.getTotalAmount())));
+    }
+
+    /**
+     * Record a deleted order.
+     */
+    @Transactional
+    public void recordDeleted(OrderStatus status, LocalDateTime orderDate, BigDecimal amount) {
+        aggregateRepository.applyDeltas(List.of(new SalesBucket(status, orderDate.toLocalDate(), -1, amount.negate())));
+    }
+
+    /**
+     * Subtract all of a user's orders. Must run before the orders are removed.
+     */
+    @Transactional
+    public void recordUserOrdersDeleted(Long userId) {
+        List<SalesBucket> buckets = aggregateRepository.computeDailyForUser(userId);
+        aggregateRepository.applyDeltas(buckets.stream().map(SalesBucket::negate).toList());
+    }
+
+    /**
+     * Total sales for a status, summed from the maintained daily buckets.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalSales(OrderStatus status) {
+        BigDecimal total = aggregateRepository.findTotalAmount(status);
+        return total != null ? total : BigDecimal.ZERO;
+    }
+
+    /**
+     * Sales for a status per day within the date range.
+     */
+    @Transactional(readOnly = true)
+    public List<SalesBucket> getDailySales(OrderStatus status, LocalDate startDate, LocalDate endDate) {
+        return aggregateRepository.findDaily(status, startDate, endDate);
+    }
+
+    /**
+     * Recompute the aggregates from the orders table and repair the buckets that drifted,
+     * logging how many did. Runs at startup and on the configured schedule.
+     * The full recompute runs without locks and only finds the dates whose buckets look
+     * drifted; each of those dates is then repaired in its own short transaction, so order
+     * writes only ever wait on the buckets of one date being repaired.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.orders.sales-aggregate.reconcile-cron:0 0 3 * * *}")
+    public void reconcile() {
+        Map<String, SalesBucket> expected = byKey(aggregateRepository.computeDailyFromOrders());
+        Map<String, SalesBucket> actual = byKey(aggregateRepository.findAllDaily());
+
+        SortedSet<LocalDate> suspectDates = new TreeSet<>();
+        expected.forEach((key, bucket) -> {
+            if (differs(bucket, actual.get(key))) {
+                suspectDates.add(bucket.getDate());
+            }
+        });
+        actual.forEach((key, bucket) -> {
+            if (!expected.containsKey(key)) {
+                suspectDates.add(bucket.getDate());
+            }
+        });
+
+        long drifted = 0;
+        for (LocalDate date : suspectDates) {
+            drifted += transactionTemplate.execute(status -> reconcileDate(date));
+        }
+        if (drifted > 0) {
+            log.warn("Sales aggregates drifted from the orders table in {} bucket(s); repaired", drifted);
+        }
+    }
+
+    /**
+     * Repair the buckets of one date, returning how many drifted.
+     * The date's buckets are locked before its orders are read, so a write either committed
+     * before the read and is counted in it, or waits and applies its delta on top of the
+     * repaired value. Buckets first created by a write during the run are left to it and
+     * checked on the next run.
+     */
+    private long reconcileDate(LocalDate date) {
+        Map<String, SalesBucket> actual = byKey(aggregateRepository.lockDaily(date));
+        List<SalesBucket> expected = aggregateRepository.computeDailyFromOrders(date);
+
+        List<SalesBucket> changed = new ArrayList<>();
+        List<SalesBucket> missing = new ArrayList<>();
+        for (SalesBucket bucket : expected) {
+            SalesBucket maintained = actual.remove(key(bucket));
+            if (maintained == null) {
+                missing.add(bucket);
+            } else if (differs(bucket, maintained)) {
+                changed.add(bucket);
+            }
+        }
+        // Left over: buckets no order falls in any more, empty ones included
+        List<SalesBucket> stale = List.copyOf(actual.values());
+
+        aggregateRepository.setDaily(changed);
+        aggregateRepository.insertDailyIfAbsent(missing);
+        aggregateRepository.deleteDaily(stale);
+        return changed.size() + missing.size() + stale.stream()
+                .filter(bucket -> bucket.getOrderCount() != 0 || bucket.getTotalAmount().signum() != 0)
+                .count();
+    }
+
+    private static boolean differs(SalesBucket expected, SalesBucket maintained) {
+        return maintained == null
+                || maintained.getOrderCount() != expected.getOrderCount()
+                || maintained.getTotalAmount().compareTo(expected.getTotalAmount()) != 0;
+    }
+
+    private static Map<String, SalesBucket> byKey(List<SalesBucket> buckets) {
+        Map<String, SalesBucket> byKey = new HashMap<>();
+        for (SalesBucket bucket : buckets) {
+            byKey.put(key(bucket), bucket);
+        }
+        return byKey;
+    }
+
+    private static String key(SalesBucket bucket) {
+        return bucket.getStatus() + "@" + bucket.getDate();
+    }
+}
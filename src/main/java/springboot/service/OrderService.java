@@ -1,39 +1,95 @@
 package springboot.service;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import springboot.cache.EntityCache;
+import springboot.dto.CursorPage;
 import springboot.dto.OrderDTO;
+import springboot.dto.OrderStatusUpdateRequest;
+import springboot.dto.SalesBucket;
 import springboot.exception.ResourceNotFoundException;
 import springboot.model.Order;
 import springboot.model.Order.OrderStatus;
 import springboot.model.User;
+import springboot.repository.OrderArchiveRepository;
 import springboot.repository.OrderRepository;
+import springboot.repository.OrderStatusBulkRepository;
 import springboot.repository.UserRepository;
 
 /**
  * Service layer for Order entity handling business logic.
  * Demonstrates DTO conversion and complex business operations.
+ * Old terminal orders live in orders_archive (see OrderArchiveService): reads add the archive
+ * only when their predicate can match an archived order, and writes move an archived order
+ * back to the orders table before changing it.
+ * Each user's order list is cached whole and kept current by the writes here: single-order
+ * writes patch the cached list after commit, bulk writes evict the lists they may touch.
  */
 @Service
 public class OrderService {
 
+    // Ids per multi-get or status update request, so each stays a bounded IN query
+    private static final int MAX_IDS_PER_LOOKUP = 1000;
+
     private final OrderRepository orderRepository;
+    private final OrderStatusBulkRepository orderStatusBulkRepository;
     private final UserRepository userRepository;
+    private final EntityCache<Long, OrderDTO> orderCache;
+    private final EntityCache<Long, List<OrderDTO>> userOrdersCache;
+    private final CursorCodec cursorCodec;
+    private final OrderSalesAggregateService salesAggregates;
+    private final OrderArchiveRepository archiveRepository;
+    private final OrderArchiveService archive;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxCachedOrdersPerUser;
 
     @Autowired
-    public OrderService(OrderRepository orderRepository, UserRepository userRepository) {
+    public OrderService(OrderRepository orderRepository, OrderStatusBulkRepository orderStatusBulkRepository,
+                        UserRepository userRepository, EntityCache<Long, OrderDTO> orderCache,
+                        EntityCache<Long, List<OrderDTO>> userOrdersCache,
+                        CursorCodec cursorCodec, OrderSalesAggregateService salesAggregates,
+                        OrderArchiveRepository archiveRepository, OrderArchiveService archive,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.cache.user-orders.maximum-orders:500}") int maxCachedOrdersPerUser) {
         this.orderRepository = orderRepository;
+        this.orderStatusBulkRepository = orderStatusBulkRepository;
         this.userRepository = userRepository;
+        this.orderCache = orderCache;
+        this.userOrdersCache = userOrdersCache;
+        this.cursorCodec = cursorCodec;
+        this.salesAggregates = salesAggregates;
+        this.archiveRepository = archiveRepository;
+        this.archive = archive;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxCachedOrdersPerUser = maxCachedOrdersPerUser;
     }
 
     /**
@@ -50,39 +106,123 @@ public class OrderService {
         order.setStatus(OrderStatus.PENDING);
 
         Order savedOrder = orderRepository.save(order);
+        salesAggregates.recordCreated(savedOrder.getStatus(), savedOrder.getOrderDate(), savedOrder.getTotalAmount());
 
-        return convertToDTO(savedOrder);
+        OrderDTO created = convertToDTO(savedOrder);
+        cacheOrderSaved(created);
+        return created;
     }
 
     /**
      * Get order by ID.
+     * Served from the order cache; only a miss opens a transaction and queries the database.
      */
-    @Transactional(readOnly = true)
     public OrderDTO getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        return orderCache.get(id, this::loadOrder);
+    }
+
+    /**
+     * Miss-load path for the order cache: a single projection query, order joined to its user,
+     * on the orders table and then on the archive.
+     */
+    private OrderDTO loadOrder(Long id) {
+        return orderRepository.findDTOById(id)
+                .or(() -> archiveRepository.findDTOById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+    }
+
+    /**
+     * Get many orders by id. Cached orders are found in one batched cache lookup; the rest are
+     * loaded with one IN query on the orders table and, for ids still missing, one on the
+     * archive. Ids that match no order are absent from the result, which follows the ids' order.
+     */
+    public Map<Long, OrderDTO> getOrdersByIds(Collection<Long> ids) {
+        if (ids.size() > MAX_IDS_PER_LOOKUP) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_LOOKUP + " ids can be looked up at once");
+        }
+        return orderCache.getAll(ids, this::loadOrders);
+    }
+
+    /**
+     * Bulk miss-load path for the order cache: both tables are read in one read-only
+     * transaction, so an order being archived or restored is found in one of them.
+     */
+    private Map<Long, OrderDTO> loadOrders(Set<Long> ids) {
+        return readOnlyTransaction.execute(status -> {
+            Map<Long, OrderDTO> orders = new HashMap<>();
+            orderRepository.findDTOsByIdIn(ids).forEach(order -> orders.put(order.getId(), order));
+            if (orders.size() < ids.size()) {
+                Set<Long> notHot = new HashSet<>(ids);
+                notHot.removeAll(orders.keySet());
+                archiveRepository.findDTOsByIdIn(notHot).forEach(order -> orders.put(order.getId(), order));
+            }
+            return orders;
+        });
+    }
 
-        return convertToDTO(order);
+    /**
+     * Load and lock an order for writing, moving it back from the archive first if it is archived.
+     * The row stays locked until the transaction ends, so the status read here is the one the
+     * write replaces and the aggregate delta starts from it.
+     */
+    private Order findOrderForUpdate(Long id) {
+        return orderRepository.findByIdForUpdate(id)
+                .or(() -> archive.restore(List.of(id)) > 0 ? orderRepository.findByIdForUpdate(id) : Optional.empty())
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
     }
 
     /**
      * Get all orders for a user.
+     * Served from the per-user order list cache; lists longer than
+     * app.cache.user-orders.maximum-orders are dropped from the cache right after loading.
      */
-    @Transactional(readOnly = true)
     public List<OrderDTO> getOrdersByUserId(Long userId) {
-        // Verify user exists
+        List<OrderDTO> orders = userOrdersCache.get(userId, this::loadUserOrders);
+        if (orders.size() > maxCachedOrdersPerUser) {
+            userOrdersCache.evict(userId);
+        }
+        return orders;
+    }
+
+    /**
+     * Miss-load path for the user order list cache: the user check and both tables are read
+     * in one read-only transaction, so the list is a consistent snapshot.
+     */
+    private List<OrderDTO> loadUserOrders(Long userId) {
+        return readOnlyTransaction.execute(status -> {
+            // Verify user exists
+            if (!userRepository.existsById(userId)) {
+                throw new ResourceNotFoundException("User", "id", userId);
+            }
+
+            List<OrderDTO> orders = new ArrayList<>(orderRepository.findDTOsByUserId(userId));
+            orders.addAll(archiveRepository.findDTOsByUserId(userId));
+            return Collections.unmodifiableList(orders);
+        });
+    }
+
+    /**
+     * Get one page of a user's orders, sorted.
+     * Users without archived orders are paged on the orders table alone.
+     */
+    @Transactional(readOnly = true)
+    public Page<OrderDTO> getOrdersByUserId(Long userId, int page, int size, String sortBy, String direction) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User", "id", userId);
         }
 
-        List<Order> orders = orderRepository.findByUserId(userId);
-        return orders.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        Sort sort = direction.equalsIgnoreCase(Sort.Direction.ASC.name()) ?
+                Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+        if (archiveRepository.existsByUserId(userId)) {
+            return archiveRepository.findDTOsByUserId(userId, pageable);
+        }
+        return orderRepository.findByUserId(userId, pageable).map(this::convertToDTO);
     }
 
     /**
      * Get all orders with pagination and sorting.
+     * Hot and archived orders are read from their own tables and merged into one page.
      */
     @Transactional(readOnly = true)
     public Page<OrderDTO> getAllOrders(int page, int size, String sortBy, String direction) {
@@ -90,9 +230,44 @@ public class OrderService {
                 Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Order> orderPage = orderRepository.findAll(pageable);
+        return archiveRepository.findAllDTOs(pageable);
+    }
+
+    /**
+     * Get orders with keyset (cursor) pagination.
+     * Seeks directly past the row the cursor points at, so deep slices cost the same as the
+     * first one, and no count query is run. A null cursor starts from the beginning.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDTO> getOrdersByCursor(String cursor, int size, String sortBy, String direction) {
+        cursorCodec.checkSliceSize(size);
+        Sort sort = cursorCodec.keysetSort(sortBy, direction);
+        KeysetScrollPosition position = cursor == null ?
+                ScrollPosition.keyset() : cursorCodec.decode(cursor, Order.class, sort);
 
-        return orderPage.map(this::convertToDTO);
+        // One extra row tells whether there is a next slice
+        List<OrderDTO> orders = archiveRepository.findDTOsAfter(position.getKeys(), sort, size + 1);
+        String nextCursor = null;
+        if (orders.size() > size) {
+            orders = orders.subList(0, size);
+            nextCursor = cursorCodec.encode(ScrollPosition.forward(keysetKeys(orders.get(size - 1), sort)));
+        }
+        return new CursorPage<>(orders, nextCursor);
+    }
+
+    private static Map<String, Object> keysetKeys(OrderDTO order, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order sortOrder : sort) {
+            String property = sortOrder.getProperty();
+            keys.put(property, switch (property) {
+                case "id" -> order.getId();
+                case "totalAmount" -> order.getTotalAmount();
+                case "status" -> order.getStatus();
+                case "orderDate" -> order.getOrderDate();
+                default -> throw new IllegalArgumentException("Cannot sort orders by " + property);
+            });
+        }
+        return keys;
     }
 
     /**
@@ -100,13 +275,116 @@ public class OrderService {
      */
     @Transactional
     public OrderDTO updateOrderStatus(Long id, OrderStatus status) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+        Order order = findOrderForUpdate(id);
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(status);
         Order updatedOrder = orderRepository.save(order);
+        salesAggregates.recordStatusChange(previousStatus, status, order.getOrderDate(), order.getTotalAmount());
+        orderCache.evictAfterCommit(id);
+
+        OrderDTO updated = convertToDTO(updatedOrder);
+        cacheOrderSaved(updated);
+        return updated;
+    }
+
+    /**
+     * Apply many status changes at once: the orders are locked in id order, one projection
+     * query reads the locked rows and one bulk UPDATE per target status writes them. Returns the updated orders by id;
+     * ids that do not exist are absent from the result.
+     */
+    @Transactional
+    public Map<Long, OrderDTO> applyStatusTransitions(Map<Long, OrderStatus> transitions) {
+        Map<Long, OrderDTO> updated = new HashMap<>();
+        if (transitions.isEmpty()) {
+            return updated;
+        }
 
-        return convertToDTO(updatedOrder);
+        // Locked rows cannot change before the UPDATE, so the aggregate deltas start from
+        // the status each order actually leaves
+        List<Long> locked = new ArrayList<>(orderStatusBulkRepository.lockByIds(transitions.keySet()));
+        Set<Long> notHot = new HashSet<>(transitions.keySet());
+        locked.forEach(notHot::remove);
+        if (archive.restore(notHot) > 0) {
+            locked.addAll(orderStatusBulkRepository.lockByIds(notHot));
+        }
+        if (locked.isEmpty()) {
+            return updated;
+        }
+        List<OrderDTO> current = orderRepository.findDTOsByIdIn(locked);
+
+        Map<OrderStatus, List<OrderDTO>> byTargetStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderDTO order : current) {
+            byTargetStatus.computeIfAbsent(transitions.get(order.getId()), s -> new ArrayList<>()).add(order);
+        }
+
+        // One batch of deltas for every target status, so the buckets are locked in key order
+        salesAggregates.recordStatusChanges(current, transitions);
+
+        LocalDateTime now = LocalDateTime.now();
+        byTargetStatus.forEach((status, orders) -> {
+            List<Long> changedIds = orders.stream()
+                    .filter(order -> order.getStatus() != status)
+                    .map(OrderDTO::getId)
+                    .toList();
+            if (!changedIds.isEmpty()) {
+                orderRepository.updateStatusByIdIn(changedIds, status, now);
+                changedIds.forEach(orderCache::evictAfterCommit);
+            }
+            for (OrderDTO order : orders) {
+                order.setStatus(status);
+                updated.put(order.getId(), order);
+                cacheOrderSaved(order);
+            }
+        });
+        return updated;
+    }
+
+    /**
+     * Move every order selected by id or by filter to the target status with one set-based
+     * UPDATE over the matching rows, returning how many orders changed. Orders
+     * already in the target status are left alone; at most 1000 ids per request.
+     */
+    @Transactional
+    public int updateOrderStatuses(OrderStatusUpdateRequest request) {
+        if (request.getTargetStatus() == null) {
+            throw new IllegalArgumentException("targetStatus is required");
+        }
+        if (request.hasIds() == request.hasFilter()) {
+            throw new IllegalArgumentException("Provide either ids or a filter (status, userId, startDate, endDate)");
+        }
+        if (request.hasIds() && request.getIds().size() > MAX_IDS_PER_LOOKUP) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_LOOKUP + " ids can be updated at once");
+        }
+
+        // Archived orders the request selects are moved back first, so one UPDATE covers them
+        archive.restoreMatching(request);
+        // The aggregate deltas are summarized from the rows the UPDATE locked and changed,
+        // so they match it exactly without the ids ever leaving the database
+        List<SalesBucket> moved = orderStatusBulkRepository.updateMatching(request, LocalDateTime.now());
+        int updated = (int) moved.stream().mapToLong(SalesBucket::getOrderCount).sum();
+        salesAggregates.recordBulkStatusChange(moved, request.getTargetStatus());
+
+        if (request.hasIds()) {
+            request.getIds().forEach(orderCache::evictAfterCommit);
+            Set<Long> ids = new HashSet<>(request.getIds());
+            userOrdersCache.evictAllAfterCommit(orders -> orders.stream().anyMatch(order -> ids.contains(order.getId())));
+        } else {
+            orderCache.evictAllAfterCommit(order -> matchesFilter(order, request));
+            if (request.getUserId() != null) {
+                userOrdersCache.evictAfterCommit(request.getUserId());
+            } else {
+                userOrdersCache.evictAllAfterCommit(orders -> orders.stream().anyMatch(order -> matchesFilter(order, request)));
+            }
+        }
+        return updated;
+    }
+
+    private static boolean matchesFilter(OrderDTO order, OrderStatusUpdateRequest filter) {
+        return (filter.getStatus() == null || filter.getStatus() == order.getStatus())
+                && (filter.getUserId() == null || filter.getUserId().equals(order.getUserId()))
+                && (filter.getStartDate() == null || !order.getOrderDate().isBefore(filter.getStartDate()))
+                && (filter.getEndDate() == null || !order.getOrderDate().isAfter(filter.getEndDate()));
     }
 
     /**
@@ -114,10 +392,50 @@ public class OrderService {
      */
     @Transactional
     public void deleteOrder(Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+        Order order = findOrderForUpdate(id);
 
         orderRepository.delete(order);
+        salesAggregates.recordDeleted(order.getStatus(), order.getOrderDate(), order.getTotalAmount());
+        orderCache.evictAfterCommit(id);
+        userOrdersCache.updateAfterCommit(order.getUser().getId(), orders -> withoutOrder(orders, id));
+    }
+
+    /**
+     * Put the order into its user's cached order list after commit, replacing the previous
+     * version. A list that would outgrow app.cache.user-orders.maximum-orders is evicted.
+     */
+    private void cacheOrderSaved(OrderDTO order) {
+        userOrdersCache.updateAfterCommit(order.getUserId(), orders -> withOrder(orders, order));
+    }
+
+    private List<OrderDTO> withOrder(List<OrderDTO> orders, OrderDTO order) {
+        List<OrderDTO> updated = new ArrayList<>(orders.size() + 1);
+        boolean replaced = false;
+        for (OrderDTO cached : orders) {
+            if (cached.getId().equals(order.getId())) {
+                updated.add(order);
+                replaced = true;
+            } else {
+                updated.add(cached);
+            }
+        }
+        if (!replaced) {
+            if (orders.size() >= maxCachedOrdersPerUser) {
+                return null;
+            }
+            updated.add(order);
+        }
+        return Collections.unmodifiableList(updated);
+    }
+
+    private static List<OrderDTO> withoutOrder(List<OrderDTO> orders, Long orderId) {
+        List<OrderDTO> updated = new ArrayList<>(orders.size());
+        for (OrderDTO cached : orders) {
+            if (!cached.getId().equals(orderId)) {
+                updated.add(cached);
+            }
+        }
+        return Collections.unmodifiableList(updated);
     }
 
     /**
@@ -125,10 +443,13 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public List<OrderDTO> getOrdersByStatus(OrderStatus status) {
-        List<Order> orders = orderRepository.findByStatus(status);
-        return orders.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<OrderDTO> orders = orderRepository.findDTOsByStatus(status);
+        if (!archive.archiveMayHold(status)) {
+            return orders;
+        }
+        orders = new ArrayList<>(orders);
+        orders.addAll(archiveRepository.findDTOsByStatus(status));
+        return orders;
     }
 
     /**
@@ -136,24 +457,67 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public List<OrderDTO> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Order> orders = orderRepository.findByOrderDateBetween(startDate, endDate);
-        return orders.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<OrderDTO> orders = orderRepository.findDTOsByOrderDateBetween(startDate, endDate);
+        if (!archive.archiveMayHold(startDate)) {
+            return orders;
+        }
+        orders = new ArrayList<>(orders);
+        orders.addAll(archiveRepository.findDTOsByOrderDateBetween(startDate, endDate));
+        return orders;
+    }
+
+    /**
+     * Stream orders with the given status to the sink as they are read from the database.
+     * The result is never materialized, so memory stays flat however many orders match.
+     */
+    @Transactional(readOnly = true)
+    public void exportOrdersByStatus(OrderStatus status, Consumer<OrderDTO> sink) {
+        try (Stream<OrderDTO> orders = orderRepository.streamDTOsByStatus(status)) {
+            orders.forEach(sink);
+        }
+        if (archive.archiveMayHold(status)) {
+            try (Stream<OrderDTO> orders = archiveRepository.streamDTOsByStatus(status)) {
+                orders.forEach(sink);
+            }
+        }
+    }
+
+    /**
+     * Stream orders placed within the date range to the sink as they are read from the database.
+     */
+    @Transactional(readOnly = true)
+    public void exportOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate, Consumer<OrderDTO> sink) {
+        try (Stream<OrderDTO> orders = orderRepository.streamDTOsByOrderDateBetween(startDate, endDate)) {
+            orders.forEach(sink);
+        }
+        if (archive.archiveMayHold(startDate)) {
+            try (Stream<OrderDTO> orders = archiveRepository.streamDTOsByOrderDateBetween(startDate, endDate)) {
+                orders.forEach(sink);
+            }
+        }
     }
 
     /**
      * Calculate total sales by status.
+     * Read from the maintained sales aggregate rather than summing the orders table.
      */
     @Transactional(readOnly = true)
     public BigDecimal calculateTotalSalesByStatus(OrderStatus status) {
-        return orderRepository.calculateTotalSalesByStatus(status);
+        return salesAggregates.getTotalSales(status);
+    }
+
+    /**
+     * Get daily sales for a status within a date range.
+     */
+    @Transactional(readOnly = true)
+    public List<SalesBucket> getDailySalesByStatus(OrderStatus status, LocalDate startDate, LocalDate endDate) {
+        return salesAggregates.getDailySales(status, startDate, endDate);
     }
 
     /**
      * Helper method to convert Order entity to OrderDTO.
      */
-    private OrderDTO convertToDTO(Order order) {
+    OrderDTO convertToDTO(Order order) {
         return new OrderDTO(
                 order.getId(),
                 order.getTotalAmount(),
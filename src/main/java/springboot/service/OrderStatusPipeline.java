@@ -0,0 +1,281 @@
+package springboot.service;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import springboot.dto.OrderDTO;
+import springboot.dto.OrderStatusTransition;
+import springboot.exception.ResourceNotFoundException;
+import springboot.exception.ServiceBusyException;
+import springboot.model.Order.OrderStatus;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Asynchronous ingestion of order status changes.
+ * Producers enqueue transitions into a bounded queue keyed by order id; a transition for an
+ * order that is still queued replaces the queued target status instead of taking another
+ * slot, so a burst of PROCESSING, SHIPPED, DELIVERED for one order is written once.
+ * A single consumer thread drains up to batch-size orders at a time and applies them in
+ * one transaction with a bulk UPDATE per target status.
+ * When the queue is full, producers wait up to offer-timeout for space and are then
+ * rejected with ServiceBusyException. A submission is queued whole or not at all.
+ * Each submission returns a future that completes with the updated order once its batch
+ * has committed, or exceptionally if the order does not exist or the batch failed.
+ */
+@Service
+public class OrderStatusPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusPipeline.class);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final OrderService orderService;
+    private final int capacity;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final LinkedHashMap<Long, PendingTransition> pending = new LinkedHashMap<>();
+
+    private final Counter submitted;
+    private final Counter coalesced;
+    private final Counter rejected;
+
+    private Thread worker;
+    private boolean running;
+
+    @Autowired
+    public OrderStatusPipeline(OrderService orderService,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.orders.status-pipeline.capacity:10000}") int capacity,
+                               @Value("${app.orders.status-pipeline.batch-size:500}") int batchSize,
+                               @Value("${app.orders.status-pipeline.offer-timeout:1s}") Duration offerTimeout) {
+        this.orderService = orderService;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+
+        Gauge.builder("orders.status.pipeline.pending", this, OrderStatusPipeline::pendingCount)
+                .description("Orders with a queued status change")
+                .register(meterRegistry);
+        this.submitted = Counter.builder("orders.status.pipeline.submitted").register(meterRegistry);
+        this.coalesced = Counter.builder("orders.status.pipeline.coalesced").register(meterRegistry);
+        this.rejected = Counter.builder("orders.status.pipeline.rejected").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        lock.lock();
+        try {
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        worker = new Thread(this::drainLoop, "order-status-pipeline");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stop accepting transitions and wait for the queued ones to be applied.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        worker.join(SHUTDOWN_TIMEOUT.toMillis());
+    }
+
+    /**
+     * Queue status changes for many orders, waiting for space if the queue is full.
+     * All of them are queued or none is: every transition is validated first, and they are
+     * queued together once the queue has a slot for each order that is not already queued.
+     * When the request names an order more than once, its last status wins. Returns one
+     * future per order id.
+     */
+    public Map<Long, CompletableFuture<OrderDTO>> submit(List<OrderStatusTransition> transitions) {
+        Map<Long, OrderStatus> targets = new LinkedHashMap<>();
+        for (OrderStatusTransition transition : transitions) {
+            if (transition == null || transition.getOrderId() == null || transition.getStatus() == null) {
+                throw new IllegalArgumentException("Order id and status are required");
+            }
+            targets.put(transition.getOrderId(), transition.getStatus());
+        }
+        if (targets.size() > capacity) {
+            throw new IllegalArgumentException("At most " + capacity + " orders can be submitted at once");
+        }
+
+        Map<Long, CompletableFuture<OrderDTO>> completions = new LinkedHashMap<>();
+        long remainingNanos = offerTimeoutNanos;
+        lock.lock();
+        try {
+            while (true) {
+                if (!running) {
+                    throw new ServiceBusyException("Order status pipeline is shutting down");
+                }
+                if (pending.size() + slotsNeeded(targets) <= capacity) {
+                    break;
+                }
+                if (remainingNanos <= 0) {
+                    rejected.increment(transitions.size());
+                    throw new ServiceBusyException("Order status queue is full");
+                }
+                remainingNanos = notFull.awaitNanos(remainingNanos);
+            }
+
+            targets.forEach((orderId, status) -> {
+                CompletableFuture<OrderDTO> completion = new CompletableFuture<>();
+                PendingTransition queued = pending.get(orderId);
+                if (queued != null) {
+                    queued.status = status;
+                    queued.waiters.add(completion);
+                    coalesced.increment();
+                } else {
+                    pending.put(orderId, new PendingTransition(status, completion));
+                }
+                completions.put(orderId, completion);
+            });
+            notEmpty.signal();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for order status queue space");
+        } finally {
+            lock.unlock();
+        }
+
+        // Repeats of an order within the request coalesce like repeats across requests
+        coalesced.increment(transitions.size() - targets.size());
+        submitted.increment(transitions.size());
+        return completions;
+    }
+
+    // Orders without a queued transition, each of which takes a new slot; call with the lock held
+    private int slotsNeeded(Map<Long, OrderStatus> targets) {
+        int needed = 0;
+        for (Long orderId : targets.keySet()) {
+            if (!pending.containsKey(orderId)) {
+                needed++;
+            }
+        }
+        return needed;
+    }
+
+    /**
+     * Number of orders with a queued status change.
+     */
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drainLoop() {
+        Map<Long, PendingTransition> batch = new LinkedHashMap<>();
+        while (drainTo(batch)) {
+            apply(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Move up to batchSize queued transitions into the batch, waiting until there is at
+     * least one. Returns false once the pipeline is stopped and the queue is empty.
+     */
+    private boolean drainTo(Map<Long, PendingTransition> batch) {
+        lock.lock();
+        try {
+            while (pending.isEmpty()) {
+                if (!running) {
+                    return false;
+                }
+                notEmpty.awaitUninterruptibly();
+            }
+            Iterator<Map.Entry<Long, PendingTransition>> it = pending.entrySet().iterator();
+            while (it.hasNext() && batch.size() < batchSize) {
+                Map.Entry<Long, PendingTransition> entry = it.next();
+                batch.put(entry.getKey(), entry.getValue());
+                it.remove();
+            }
+            notFull.signalAll();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(Map<Long, PendingTransition> batch) {
+        Map<Long, OrderStatus> transitions = new LinkedHashMap<>();
+        batch.forEach((orderId, transition) -> transitions.put(orderId, transition.status));
+
+        Map<Long, OrderDTO> updated;
+        try {
+            updated = orderService.applyStatusTransitions(transitions);
+        } catch (Throwable e) {
+            // Errors too: this is the only consumer thread, and if it died every queued
+            // and future submission would wait forever
+            log.error("Failed to apply {} order status change(s)", batch.size(), e);
+            batch.values().forEach(transition -> transition.completeExceptionally(e));
+            return;
+        }
+
+        batch.forEach((orderId, transition) -> {
+            OrderDTO order = updated.get(orderId);
+            if (order != null) {
+                transition.complete(order);
+            } else {
+                transition.completeExceptionally(new ResourceNotFoundException("Order", "id", orderId));
+            }
+        });
+    }
+
+    /**
+     * Latest target status queued for one order, and everyone waiting on it.
+     * Only touched under the lock while queued, and only by the consumer once drained.
+     */
+    private static final class PendingTransition {
+        private OrderStatus status;
+        private final List<CompletableFuture<OrderDTO>> waiters = new ArrayList<>(1);
+
+        private PendingTransition(OrderStatus status, CompletableFuture<OrderDTO> waiter) {
+            this.status = status;
+            this.waiters.add(waiter);
+        }
+
+        private void complete(OrderDTO order) {
+            waiters.forEach(waiter -> waiter.complete(order));
+        }
+
+        private void completeExceptionally(Throwable cause) {
+            waiters.forEach(waiter -> waiter.completeExceptionally(cause));
+        }
+    }
+}
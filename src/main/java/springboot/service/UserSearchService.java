@@ -0,0 +1,168 @@
+package springboot.service;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import springboot.dto.UserDTO;
+import springboot.model.User;
+import springboot.repository.UserRepository;
+import springboot.repository.UserSearchIndexRepository;
+
+/**
+ * Service for indexed user search over username and email.
+ * Keywords of three or more characters match by substring through a trigram index;
+ * two-character keywords match username or email prefixes. Matching is case-insensitive.
+ * Candidates from the index are verified against the actual values, so trigram
+ * false positives never reach the caller, and ranked in the same query before the page
+ * is cut: exact username, exact email, username prefix, email prefix, username substring,
+ * email substring.
+ */
+@Service
+public class UserSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchService.class);
+
+    private static final int GRAM_LENGTH = 3;
+    // One-character prefixes are not indexed: their posting lists would cover most users
+    private static final int MIN_KEYWORD_LENGTH = 2;
+    private static final String PREFIX_MARKER = "^";
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final UserSearchIndexRepository indexRepository;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public UserSearchService(UserSearchIndexRepository indexRepository, UserRepository userRepository) {
+        this.indexRepository = indexRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Index (or re-index) a user. Runs in the caller's transaction.
+     */
+    @Transactional
+    public void index(User user) {
+        indexRepository.replaceGrams(user.getId(), indexGrams(user.getUsername(), user.getEmail()));
+    }
+
+    /**
+     * Remove a user from the index.
+     */
+    @Transactional
+    public void remove(Long userId) {
+        indexRepository.deleteGrams(userId);
+    }
+
+    /**
+     * Search users by keyword, best matches first.
+     * Keywords must have at least two characters.
+     */
+    @Transactional(readOnly = true)
+    public List<UserDTO> search(String keyword, int page, int size) {
+        String normalized = normalize(keyword);
+        if (normalized.length() < MIN_KEYWORD_LENGTH) {
+            throw new IllegalArgumentException("Search keyword must have at least " + MIN_KEYWORD_LENGTH + " characters");
+        }
+
+        List<Long> rankedIds = indexRepository.findRankedUserIds(queryGrams(normalized), normalized,
+                normalized.length() >= GRAM_LENGTH, (long) page * size, size);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, UserDTO> users = new HashMap<>();
+        for (UserDTO user : userRepository.findDTOsByIdIn(rankedIds)) {
+            users.put(user.getId(), user);
+        }
+        List<UserDTO> results = new ArrayList<>(rankedIds.size());
+        for (Long id : rankedIds) {
+            UserDTO user = users.get(id);
+            if (user != null) {
+                results.add(user);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Build the index for existing users when it is empty, e.g. on a database that
+     * predates the index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (!indexRepository.isEmpty()) {
+            return;
+        }
+
+        Sort byId = Sort.by("id");
+        ScrollPosition position = ScrollPosition.keyset();
+        long indexed = 0;
+        Window<User> window;
+        do {
+            window = userRepository.findAllBy(position, byId, Limit.of(REBUILD_BATCH_SIZE));
+            for (User user : window) {
+                index(user);
+                indexed++;
+            }
+            if (!window.isEmpty()) {
+                position = window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+
+        if (indexed > 0) {
+            log.info("Built user search index for {} users", indexed);
+        }
+    }
+
+    /**
+     * Grams stored for a user: all trigrams of each value plus its two-character prefix.
+     */
+    static Set<String> indexGrams(String... values) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String value : values) {
+            String normalized = normalize(value);
+            if (normalized.length() >= MIN_KEYWORD_LENGTH) {
+                grams.add(PREFIX_MARKER + normalized.substring(0, MIN_KEYWORD_LENGTH));
+            }
+            for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+                grams.add(normalized.substring(i, i + GRAM_LENGTH));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Grams a matching user must have: the keyword's trigrams, or its prefix gram if it is shorter.
+     */
+    static Set<String> queryGrams(String normalizedKeyword) {
+        if (normalizedKeyword.length() < GRAM_LENGTH) {
+            return Set.of(PREFIX_MARKER + normalizedKeyword);
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalizedKeyword.length(); i++) {
+            grams.add(normalizedKeyword.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,16 +1,29 @@
 package springboot.service;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import springboot.cache.EntityCache;
+import springboot.dto.CursorPage;
+import springboot.dto.OrderDTO;
 import springboot.dto.UserCreationRequest;
+import springboot.dto.UserDTO;
 import springboot.exception.ResourceAlreadyExistsException;
 import springboot.exception.ResourceNotFoundException;
 import springboot.model.User;
@@ -24,18 +37,42 @@ import springboot.repository.UserRepository;
 @Service
 public class UserService {
 
+    // Ids per multi-get request, so one request stays one bounded IN query
+    private static final int MAX_IDS_PER_LOOKUP = 1000;
+
     private final UserRepository userRepository;
+    private final EntityCache<Long, UserDTO> userCache;
+    private final EntityCache<String, Long> userIdByUsernameCache;
+    private final EntityCache<Long, OrderDTO> orderCache;
+    private final EntityCache<Long, List<OrderDTO>> userOrdersCache;
+    private final CursorCodec cursorCodec;
+    private final OrderSalesAggregateService salesAggregates;
+    private final UserSearchService userSearch;
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+                       EntityCache<Long, UserDTO> userCache,
+                       EntityCache<String, Long> userIdByUsernameCache,
+                       EntityCache<Long, OrderDTO> orderCache,
+                       EntityCache<Long, List<OrderDTO>> userOrdersCache,
+                       CursorCodec cursorCodec,
+                       OrderSalesAggregateService salesAggregates,
+                       UserSearchService userSearch) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.userIdByUsernameCache = userIdByUsernameCache;
+        this.orderCache = orderCache;
+        this.userOrdersCache = userOrdersCache;
+        this.cursorCodec = cursorCodec;
+        this.salesAggregates = salesAggregates;
+        this.userSearch = userSearch;
     }
 
     /**
      * Create new user with validation for existing username or email.
      */
     @Transactional
-    public User createUser(UserCreationRequest userRequest) {
+    public UserDTO createUser(UserCreationRequest userRequest) {
         // Check if username or email already exists
         if (userRepository.existsByUsernameOrEmail(userRequest.getUsername(), userRequest.getEmail())) {
             throw new ResourceAlreadyExistsException(
@@ -50,63 +87,124 @@ public class UserService {
         // In a real application, you would hash the password here
         user.setPassword(userRequest.getPassword());
 
-        return userRepository.save(user);
+        // The check above can race with a concurrent insert; the unique constraints settle it
+        User savedUser = saveAndFlush(user, "User already exists with username: " + userRequest.getUsername() +
+                " or email: " + userRequest.getEmail());
+        userSearch.index(savedUser);
+        return convertToDTO(savedUser);
     }
 
     /**
      * Get user by ID with not found exception.
+     * Served from the user cache; a miss loads the user with a single projection query.
      */
-    @Transactional(readOnly = true)
-    public User getUserById(Long id) {
-        return userRepository.findById(id)
+    public UserDTO getUserById(Long id) {
+        return userCache.get(id, this::loadUser);
+    }
+
+    /**
+     * Miss-load path for the user cache.
+     */
+    private UserDTO loadUser(Long id) {
+        return userRepository.findDTOById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
     }
 
+    /**
+     * Get many users by id: cached users in one batched cache lookup, the rest with one IN query.
+     * Ids that match no user are absent from the result, which follows the ids' order.
+     */
+    public Map<Long, UserDTO> getUsersByIds(Collection<Long> ids) {
+        if (ids.size() > MAX_IDS_PER_LOOKUP) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_LOOKUP + " ids can be looked up at once");
+        }
+        return userCache.getAll(ids, this::loadUsers);
+    }
+
+    /**
+     * Bulk miss-load path for the user cache.
+     */
+    private Map<Long, UserDTO> loadUsers(Set<Long> ids) {
+        Map<Long, UserDTO> users = new HashMap<>();
+        userRepository.findDTOsByIdIn(ids).forEach(user -> users.put(user.getId(), user));
+        return users;
+    }
+
     /**
      * Get user by username with not found exception.
+     * The username resolves to an id through its own cache, then shares the user cache entry.
+     * Both lookups go through EntityCache.get, so a rename or status change that commits
+     * during a miss is never cached over.
      */
-    @Transactional(readOnly = true)
-    public User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
+    public UserDTO getUserByUsername(String username) {
+        Long id = userIdByUsernameCache.get(username, this::loadUserId);
+        return getUserById(id);
+    }
+
+    /**
+     * Miss-load path for the username cache.
+     */
+    private Long loadUserId(String username) {
+        return userRepository.findIdByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
     }
 
+    /**
+     * Load the user entity for a write path.
+     */
+    private User findUser(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+    }
+
     /**
      * Get all users with pagination and sorting.
      */
     @Transactional(readOnly = true)
-    public Page<User> getAllUsers(int page, int size, String sortBy, String direction) {
+    public Page<UserDTO> getAllUsers(int page, int size, String sortBy, String direction) {
         Sort sort = direction.equalsIgnoreCase(Sort.Direction.ASC.name()) ?
                 Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        return userRepository.findAll(pageable);
+        return userRepository.findAllDTOs(pageable);
+    }
+
+    /**
+     * Get users with keyset (cursor) pagination, without a count query.
+     * A null cursor starts from the beginning. The slice is read as entities, which keyset
+     * scrolling needs for its positions, and converted before it leaves the transaction.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> getUsersByCursor(String cursor, int size, String sortBy, String direction) {
+        cursorCodec.checkSliceSize(size);
+        Sort sort = cursorCodec.keysetSort(sortBy, direction);
+        ScrollPosition position = cursor == null ?
+                ScrollPosition.keyset() : cursorCodec.decode(cursor, User.class, sort);
+
+        Window<User> window = userRepository.findAllBy(position, sort, Limit.of(size));
+        String nextCursor = window.hasNext() && !window.isEmpty() ?
+                cursorCodec.encode(window.positionAt(window.size() - 1)) : null;
+
+        return new CursorPage<>(window.getContent().stream().map(this::convertToDTO).toList(), nextCursor);
     }
 
     /**
      * Update user details with validation.
      */
     @Transactional
-    public User updateUser(Long id, UserCreationRequest userRequest) {
-        User user = getUserById(id);
-
-        // Check if new username is already taken by another user
-        userRepository.findByUsername(userRequest.getUsername())
-                .ifPresent(existingUser -> {
-                    if (!existingUser.getId().equals(id)) {
-                        throw new ResourceAlreadyExistsException(
-                                "Username already taken: " + userRequest.getUsername());
-                    }
-                });
-
-        // Check if new email is already taken by another user
-        userRepository.findByEmail(userRequest.getEmail())
-                .ifPresent(existingUser -> {
-                    if (!existingUser.getId().equals(id)) {
-                        throw new ResourceAlreadyExistsException(
-                                "Email already taken: " + userRequest.getEmail());
-                    }
-                });
+    public UserDTO updateUser(Long id, UserCreationRequest userRequest) {
+        User user = findUser(id);
+        String previousUsername = user.getUsername();
+
+        // Check if new username or email is already taken by another user, in one query
+        List<String> conflicts = userRepository.findConflictingUsernames(
+                id, userRequest.getUsername(), userRequest.getEmail());
+        if (conflicts.contains(userRequest.getUsername())) {
+            throw new ResourceAlreadyExistsException("Username already taken: " + userRequest.getUsername());
+        }
+        if (!conflicts.isEmpty()) {
+            throw new ResourceAlreadyExistsException("Email already taken: " + userRequest.getEmail());
+        }
 
         // Update user fields
         user.setUsername(userRequest.getUsername());
@@ -118,17 +216,43 @@ public class UserService {
             user.setPassword(userRequest.getPassword());
         }
 
-        return userRepository.save(user);
+        User updatedUser = saveAndFlush(user, "Username or email already taken: " +
+                userRequest.getUsername() + ", " + userRequest.getEmail());
+        userSearch.index(updatedUser);
+        userCache.evictAfterCommit(id);
+        userIdByUsernameCache.evictAfterCommit(previousUsername);
+        if (!previousUsername.equals(updatedUser.getUsername())) {
+            userIdByUsernameCache.evictAfterCommit(updatedUser.getUsername());
+            // Cached orders carry the username
+            orderCache.evictAllAfterCommit(order -> id.equals(order.getUserId()));
+            userOrdersCache.evictAfterCommit(id);
+        }
+        return convertToDTO(updatedUser);
+    }
+
+    /**
+     * Save and flush the user so a unique-constraint violation from a concurrent write
+     * surfaces here, as a 409, rather than at commit.
+     */
+    private User saveAndFlush(User user, String conflictMessage) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceAlreadyExistsException(conflictMessage);
+        }
     }
 
     /**
      * Update user status.
      */
     @Transactional
-    public User updateUserStatus(Long id, UserStatus status) {
-        User user = getUserById(id);
+    public UserDTO updateUserStatus(Long id, UserStatus status) {
+        User user = findUser(id);
         user.setStatus(status);
-        return userRepository.save(user);
+        // Flush so @PreUpdate has stamped updatedAt before the DTO is built
+        User updatedUser = userRepository.saveAndFlush(user);
+        userCache.evictAfterCommit(id);
+        return convertToDTO(updatedUser);
     }
 
     /**
@@ -136,31 +260,46 @@ public class UserService {
      */
     @Transactional
     public void deleteUser(Long id) {
-        User user = getUserById(id);
+        User user = findUser(id);
+        // The user's orders are removed by cascade, so take them out of the sales aggregates first
+        salesAggregates.recordUserOrdersDeleted(id);
         userRepository.delete(user);
+        userSearch.remove(id);
+        userCache.evictAfterCommit(id);
+        userIdByUsernameCache.evictAfterCommit(user.getUsername());
+        orderCache.evictAllAfterCommit(order -> id.equals(order.getUserId()));
+        userOrdersCache.evictAfterCommit(id);
     }
 
     /**
-     * Search users by keyword.
+     * Search users by keyword in username or email, ranked, one page at a time.
      */
     @Transactional(readOnly = true)
-    public List<User> searchUsers(String keyword) {
-        return userRepository.searchUsers(keyword);
+    public List<UserDTO> searchUsers(String keyword, int page, int size) {
+        return userSearch.search(keyword, page, size);
     }
 
     /**
-     * Get recently active users.
+     * Get users created in the last 30 days.
      */
     @Transactional(readOnly = true)
-    public List<User> getRecentUsers() {
-        return userRepository.findRecentUsers();
+    public List<UserDTO> getRecentUsers() {
+        return userRepository.findDTOsCreatedSince(LocalDateTime.now().minusDays(30));
     }
 
     /**
      * Get users by status.
      */
     @Transactional(readOnly = true)
-    public List<User> getUsersByStatus(UserStatus status) {
-        return userRepository.findByStatus(status);
+    public List<UserDTO> getUsersByStatus(UserStatus status) {
+        return userRepository.findDTOsByStatus(status);
+    }
+
+    /**
+     * Convert User entity to DTO.
+     */
+    UserDTO convertToDTO(User user) {
+        return new UserDTO(user.getId(), user.getUsername(), user.getEmail(), user.getStatus(),
+                user.getCreatedAt(), user.getUpdatedAt());
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+-- Users and orders tables.
+-- Ids are drawn from sequences that advance by 50 (the entities' allocationSize);
+-- with the pooled-lo optimizer each sequence value v reserves ids v .. v + 49 in memory.
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    username    VARCHAR(255) UNIQUE,
+    email       VARCHAR(255) UNIQUE,
+    password    VARCHAR(255),
+    status      VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE orders (
+    id            BIGINT        NOT NULL PRIMARY KEY,
+    total_amount  NUMERIC(38, 2),
+    status        VARCHAR(255),
+    order_date    TIMESTAMP(6),
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    user_id       BIGINT        NOT NULL,
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
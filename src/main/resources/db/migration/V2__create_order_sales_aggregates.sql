@@ -0,0 +1,16 @@
+-- Precomputed sales per order status, maintained incrementally by the order write paths
+-- and periodically reconciled against the orders table.
+
+CREATE TABLE order_sales_daily (
+    status        VARCHAR(255)   NOT NULL,
+    bucket_date   DATE           NOT NULL,
+    order_count   BIGINT         NOT NULL,
+    total_amount  NUMERIC(38, 2) NOT NULL,
+    PRIMARY KEY (status, bucket_date)
+);
+
+CREATE TABLE order_sales_total (
+    status        VARCHAR(255)   NOT NULL PRIMARY KEY,
+    order_count   BIGINT         NOT NULL,
+    total_amount  NUMERIC(38, 2) NOT NULL
+);
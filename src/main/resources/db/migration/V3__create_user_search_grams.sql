@@ -0,0 +1,11 @@
+-- Search index over usernames and emails. Each user has one row per distinct
+-- lowercase trigram of its username and email, plus "^"-marked one- and two-character
+-- prefixes so short keywords are also answered from the index.
+
+CREATE TABLE user_search_grams (
+    gram     VARCHAR(3) NOT NULL,
+    user_id  BIGINT     NOT NULL,
+    PRIMARY KEY (gram, user_id)
+);
+
+CREATE INDEX idx_user_search_grams_user ON user_search_grams (user_id);
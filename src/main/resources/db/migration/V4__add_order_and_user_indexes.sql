@@ -0,0 +1,24 @@
+-- Secondary indexes for the repository lookups. Each leads with the column the queries
+-- filter on and carries the columns they read after it, so the status and date lookups,
+-- SUM(total_amount) by status and the sales aggregate GROUP BY are answered from the index.
+
+-- findByUserId / findByUserIdAndStatus / findDTOsByUserId, the per-user aggregate reconcile,
+-- and the join from users; also backs the fk_orders_user foreign key
+CREATE INDEX idx_orders_user_status ON orders (user_id, status, order_date, total_amount);
+
+-- findByStatus / findDTOsByStatus / streamDTOsByStatus, calculateTotalSalesByStatus,
+-- and status-filtered bulk status updates
+CREATE INDEX idx_orders_status_date ON orders (status, order_date, total_amount);
+
+-- findByOrderDateBetween / findDTOsByOrderDateBetween / streamDTOsByOrderDateBetween,
+-- and date-filtered bulk status updates
+CREATE INDEX idx_orders_order_date ON orders (order_date, status, total_amount);
+
+-- findByTotalAmountGreaterThan / findOrdersInAmountRange
+CREATE INDEX idx_orders_total_amount ON orders (total_amount);
+
+-- findByStatus / findDTOsByStatus / countByStatus
+CREATE INDEX idx_users_status_created ON users (status, created_at);
+
+-- findDTOsCreatedSince / findRecentUsers
+CREATE INDEX idx_users_created_at ON users (created_at);
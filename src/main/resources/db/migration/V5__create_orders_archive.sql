@@ -0,0 +1,27 @@
+-- Cold storage for orders. OrderArchiveService moves DELIVERED and CANCELED orders older than
+-- app.orders.archive.older-than here in batches, so the hot orders table and its indexes only
+-- hold recent and in-flight orders. A write to an archived order moves it back first.
+-- Rows keep their ids, and an id is only ever in one of the two tables.
+
+CREATE TABLE orders_archive (
+    id            BIGINT        NOT NULL PRIMARY KEY,
+    total_amount  NUMERIC(38, 2),
+    status        VARCHAR(255),
+    order_date    TIMESTAMP(6),
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    user_id       BIGINT        NOT NULL,
+    -- Hot orders are deleted with their user by JPA cascade; archived ones by the database
+    CONSTRAINT fk_orders_archive_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_orders_archive_user_status ON orders_archive (user_id, status, order_date, total_amount);
+CREATE INDEX idx_orders_archive_status_date ON orders_archive (status, order_date, total_amount);
+CREATE INDEX idx_orders_archive_order_date ON orders_archive (order_date, status, total_amount);
+
+-- Every order, hot or archived: used where a query cannot be routed to one table,
+-- such as the paged listings and the sales aggregate reconcile
+CREATE VIEW orders_all AS
+    SELECT id, total_amount, status, order_date, created_at, updated_at, user_id FROM orders
+    UNION ALL
+    SELECT id, total_amount, status, order_date, created_at, updated_at, user_id FROM orders_archive;
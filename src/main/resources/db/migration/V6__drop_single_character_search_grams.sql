@@ -0,0 +1,4 @@
+-- One-character prefix grams ("^" plus one character) matched most users, so searches for
+-- them could not be answered selectively. Keywords now need two characters; drop the grams.
+
+DELETE FROM user_search_grams WHERE gram LIKE '^_' ESCAPE '\';
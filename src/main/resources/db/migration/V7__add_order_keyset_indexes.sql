@@ -0,0 +1,18 @@
+-- Keyset indexes for the order listings. OrderArchiveRepository reads each table in
+-- (sort column, id) order and seeks with (sort column, id) > (?, ?), which an index on
+-- exactly those leading columns answers by reading only the rows it returns.
+
+-- Same lookups as before, with id after order_date so date-sorted listings are index ordered
+DROP INDEX idx_orders_order_date;
+CREATE INDEX idx_orders_order_date ON orders (order_date, id, status, total_amount);
+DROP INDEX idx_orders_archive_order_date;
+CREATE INDEX idx_orders_archive_order_date ON orders_archive (order_date, id, status, total_amount);
+
+-- Same lookups as before, with id after total_amount for amount-sorted listings
+DROP INDEX idx_orders_total_amount;
+CREATE INDEX idx_orders_total_amount ON orders (total_amount, id);
+CREATE INDEX idx_orders_archive_total_amount ON orders_archive (total_amount, id);
+
+-- Status-sorted listings
+CREATE INDEX idx_orders_status_id ON orders (status, id);
+CREATE INDEX idx_orders_archive_status_id ON orders_archive (status, id);
@@ -0,0 +1,4 @@
+-- Per-status totals are now summed from order_sales_daily. The single total row per status
+-- was updated by every order write, so writers to the same status serialized on it.
+
+DROP TABLE order_sales_total;
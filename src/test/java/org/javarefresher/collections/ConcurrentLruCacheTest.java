@@ -0,0 +1,193 @@
+package org.javarefresher.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.javarefresher.collections.ConcurrentLruCache.RemovalCause;
+import org.javarefresher.collections.ConcurrentLruCache.Stats;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentLruCacheTest {
+
+    private static final Duration TTL = Duration.ofMillis(200);
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        List<String> removed = new ArrayList<>();
+        ConcurrentLruCache<Integer, String> cache = ConcurrentLruCache.<Integer, String>builder()
+                .maximumSize(3)
+                .concurrencyLevel(1)
+                .removalListener((key, value, cause) -> removed.add(key + ":" + cause))
+                .build();
+
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+        // Reading 1 makes 2 the least recently used
+        assertEquals("a", cache.getIfPresent(1));
+        cache.put(4, "d");
+
+        assertEquals(List.of("2:SIZE"), removed);
+        assertNull(cache.getIfPresent(2));
+        assertEquals(Map.of(1, "a", 3, "c", 4, "d"), cache.getAllPresent(List.of(1, 2, 3, 4)));
+
+        // Overwriting refreshes recency too, so 3 goes next
+        cache.put(1, "a2");
+        cache.put(5, "e");
+        assertEquals(List.of("2:SIZE", "1:REPLACED", "3:SIZE"), removed);
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void eachSegmentEvictsAtItsShareOfTheMaximum() {
+        // Two segments of one entry each: a key evicts the other key of its own segment even
+        // though the cache as a whole still has room
+        List<Integer> evicted = new ArrayList<>();
+        ConcurrentLruCache<Integer, String> cache = ConcurrentLruCache.<Integer, String>builder()
+                .maximumSize(2)
+                .concurrencyLevel(2)
+                .removalListener((key, value, cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evicted.add(key);
+                    }
+                })
+                .build();
+
+        cache.put(0, "first");
+        int key = 1;
+        cache.put(key, "probe");
+        while (evicted.isEmpty()) {
+            assertEquals(2, cache.size());
+            cache.invalidate(key);
+            cache.put(++key, "probe");
+        }
+        assertEquals(List.of(0), evicted);
+        assertEquals(1, cache.size());
+
+        // The keys that sat alongside 0 belong to the other segment: they leave 0 alone and
+        // only evict each other
+        cache.invalidate(key);
+        cache.put(0, "first");
+        for (int other = 1; other < key; other++) {
+            cache.put(other, "other");
+            assertEquals("first", cache.getIfPresent(0));
+            assertEquals(2, cache.size());
+        }
+        assertEquals(key - 1, evicted.size());
+    }
+
+    @Test
+    void maximumIsSplitAcrossSegmentsWithoutBeingExceeded() {
+        ConcurrentLruCache<Integer, Integer> cache = ConcurrentLruCache.<Integer, Integer>builder()
+                .maximumSize(10)
+                .concurrencyLevel(4)
+                .build();
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, i);
+            assertTrue(cache.size() <= 10, "size " + cache.size() + " after " + i);
+        }
+        assertEquals(1_000 - cache.size(), cache.stats().evictionCount());
+    }
+
+    @Test
+    void weigherBoundsTotalWeight() {
+        List<String> evicted = new ArrayList<>();
+        ConcurrentLruCache<String, String> cache = ConcurrentLruCache.<String, String>builder()
+                .maximumWeight(10, (key, value) -> value.length())
+                .concurrencyLevel(1)
+                .removalListener((key, value, cause) -> evicted.add(key))
+                .build();
+
+        cache.put("a", "1234");
+        cache.put("b", "1234");
+        cache.put("c", "12345");
+        assertEquals(List.of("a"), evicted);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ConcurrentLruCache.builder().maximumSize(0).build());
+    }
+
+    @Test
+    void expiredEntriesAreRemovedOnReadAndOnCleanUp() throws InterruptedException {
+        List<String> removed = new ArrayList<>();
+        ConcurrentLruCache<Integer, String> cache = ConcurrentLruCache.<Integer, String>builder()
+                .maximumSize(100)
+                .expireAfterWrite(TTL)
+                .removalListener((key, value, cause) -> removed.add(key + ":" + cause))
+                .build();
+
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+        assertEquals("a", cache.getIfPresent(1));
+        Thread.sleep(TTL.toMillis() * 2);
+
+        assertNull(cache.getIfPresent(1));
+        assertNull(cache.computeIfPresent(2, value -> value + "!"));
+        assertEquals(1, cache.size());
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+        assertEquals(List.of("1:EXPIRED", "2:EXPIRED", "3:EXPIRED"), removed);
+
+        // A rewrite restarts the clock
+        cache.put(4, "d");
+        assertEquals("d!", cache.computeIfPresent(4, value -> value + "!"));
+        assertEquals("d!", cache.getIfPresent(4));
+    }
+
+    @Test
+    void statsCountHitsMissesLoadsAndEvictions() throws InterruptedException {
+        ConcurrentLruCache<Integer, String> cache = ConcurrentLruCache.<Integer, String>builder()
+                .maximumSize(2)
+                .concurrencyLevel(1)
+                .expireAfterWrite(TTL)
+                .build();
+
+        assertEquals("v1", cache.get(1, key -> "v" + key));
+        assertEquals("v1", cache.get(1, key -> "reloaded"));
+        assertNull(cache.getIfPresent(2));
+        assertThrows(IllegalStateException.class, () -> cache.get(3, key -> {
+            throw new IllegalStateException("load failed");
+        }));
+        assertNull(cache.get(4, key -> null));
+        assertNull(cache.getIfPresent(4));
+
+        Stats stats = cache.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(5, stats.missCount());
+        assertEquals(2, stats.loadSuccessCount());
+        assertEquals(1, stats.loadFailureCount());
+        assertTrue(stats.totalLoadNanos() > 0);
+        assertEquals(0, stats.evictionCount());
+        assertEquals(1.0 / 6, stats.hitRatio(), 1e-9);
+
+        // Explicit removals and replacements are not evictions; size and expiry both are
+        cache.put(1, "replaced");
+        cache.invalidate(1);
+        cache.put(5, "e");
+        cache.put(6, "f");
+        cache.put(7, "g");
+        assertEquals(1, cache.stats().evictionCount());
+
+        Thread.sleep(TTL.toMillis() * 2);
+        assertNull(cache.getIfPresent(7));
+        cache.cleanUp();
+        assertEquals(3, cache.stats().evictionCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void emptyCacheHasAHitRatioOfOne() {
+        ConcurrentLruCache<Integer, String> cache = ConcurrentLruCache.<Integer, String>builder().build();
+        assertEquals(1.0, cache.stats().hitRatio());
+        assertEquals(Map.of(), cache.getAllPresent(List.of()));
+    }
+}
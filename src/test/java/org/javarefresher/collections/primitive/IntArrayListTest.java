@@ -0,0 +1,110 @@
+package org.javarefresher.collections.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class IntArrayListTest {
+
+    @Test
+    void addInsertSetAndRemove() {
+        IntArrayList list = new IntArrayList();
+        list.add(1234);
+        list.add(0, 1111);
+        list.add(2, 3333);
+
+        assertEquals(1111, list.set(0, 2222));
+        assertArrayEquals(new int[] {2222, 1234, 3333}, list.toArray());
+
+        assertEquals(1234, list.removeAt(1));
+        assertArrayEquals(new int[] {2222, 3333}, list.toArray());
+        assertEquals(2, list.size());
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        IntArrayList list = new IntArrayList(1);
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        list.add(500, -1);
+
+        assertEquals(1001, list.size());
+        assertEquals(499, list.get(499));
+        assertEquals(-1, list.get(500));
+        assertEquals(500, list.get(501));
+        assertEquals(999, list.get(1000));
+    }
+
+    @Test
+    void indexChecksUseSizeNotCapacity() {
+        IntArrayList list = new IntArrayList(10);
+        list.add(1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(1, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeAt(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(2, 5));
+
+        list.add(1, 2);
+        assertArrayEquals(new int[] {1, 2}, list.toArray());
+    }
+
+    @Test
+    void searchFindsFirstOccurrence() {
+        IntArrayList list = new IntArrayList();
+        list.add(7);
+        list.add(8);
+        list.add(7);
+
+        assertEquals(0, list.indexOf(7));
+        assertEquals(1, list.indexOf(8));
+        assertEquals(-1, list.indexOf(9));
+        assertTrue(list.contains(8));
+        assertFalse(list.contains(9));
+    }
+
+    @Test
+    void toArrayIsACopy() {
+        IntArrayList list = new IntArrayList();
+        list.add(1);
+
+        int[] array = list.toArray();
+        array[0] = 99;
+
+        assertEquals(1, list.get(0));
+    }
+
+    @Test
+    void clearEmptiesTheList() {
+        IntArrayList list = new IntArrayList();
+        list.add(1);
+        list.add(2);
+
+        list.clear();
+
+        assertTrue(list.isEmpty());
+        assertEquals("[]", list.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        list.add(3);
+        assertEquals("[3]", list.toString());
+    }
+
+    @Test
+    void forEachVisitsElementsInOrder() {
+        IntArrayList list = new IntArrayList();
+        list.add(3);
+        list.add(1);
+        list.add(2);
+
+        StringBuilder visited = new StringBuilder();
+        list.forEach(visited::append);
+
+        assertEquals("312", visited.toString());
+    }
+}
@@ -0,0 +1,93 @@
+package org.javarefresher.collections.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IntObjectMultimapTest {
+
+    @Test
+    void keepsDuplicatesInInsertionOrder() {
+        IntObjectMultimap<String> multimap = new IntObjectMultimap<>();
+        multimap.put(1, "Banana");
+        multimap.put(1, "Apple");
+        multimap.put(1, "Banana");
+        multimap.put(2, "Carrot");
+
+        assertEquals(List.of("Banana", "Apple", "Banana"), multimap.get(1));
+        assertEquals(List.of("Carrot"), multimap.get(2));
+        assertEquals(4, multimap.size());
+        assertEquals(2, multimap.keyCount());
+        assertTrue(multimap.containsEntry(1, "Apple"));
+        assertFalse(multimap.containsEntry(2, "Apple"));
+    }
+
+    @Test
+    void missingKeyHasEmptyList() {
+        IntObjectMultimap<String> multimap = new IntObjectMultimap<>();
+
+        assertTrue(multimap.get(7).isEmpty());
+        assertFalse(multimap.containsKey(7));
+        assertTrue(multimap.isEmpty());
+    }
+
+    @Test
+    void returnedListsAreReadOnly() {
+        IntObjectMultimap<String> multimap = new IntObjectMultimap<>();
+        multimap.put(1, "a");
+
+        assertThrows(UnsupportedOperationException.class, () -> multimap.get(1).add("b"));
+        assertThrows(UnsupportedOperationException.class, () -> multimap.get(2).add("b"));
+    }
+
+    @Test
+    void removeTakesOneOccurrenceAndDropsEmptyKeys() {
+        IntObjectMultimap<String> multimap = new IntObjectMultimap<>();
+        multimap.put(1, "a");
+        multimap.put(1, "a");
+
+        assertTrue(multimap.remove(1, "a"));
+        assertEquals(List.of("a"), multimap.get(1));
+        assertEquals(1, multimap.size());
+
+        assertTrue(multimap.remove(1, "a"));
+        assertFalse(multimap.containsKey(1));
+        assertEquals(0, multimap.keyCount());
+        assertFalse(multimap.remove(1, "a"));
+        assertTrue(multimap.isEmpty());
+    }
+
+    @Test
+    void removeAllReturnsEveryValue() {
+        IntObjectMultimap<String> multimap = new IntObjectMultimap<>();
+        multimap.put(3, "x");
+        multimap.put(3, "y");
+        multimap.put(4, "z");
+
+        assertEquals(List.of("x", "y"), multimap.removeAll(3));
+        assertTrue(multimap.removeAll(3).isEmpty());
+        assertEquals(1, multimap.size());
+        assertEquals(List.of("z"), multimap.get(4));
+    }
+
+    @Test
+    void forEachVisitsEveryPairWithTheOriginalKey() {
+        IntObjectMultimap<String> multimap = new IntObjectMultimap<>();
+        multimap.put(-1, "neg");
+        multimap.put(0, "zero");
+        multimap.put(0, "zero again");
+        multimap.put(Integer.MAX_VALUE, "max");
+
+        List<String> pairs = new ArrayList<>();
+        multimap.forEach((key, value) -> pairs.add(key + "=" + value));
+
+        assertEquals(4, pairs.size());
+        assertTrue(pairs.containsAll(List.of("-1=neg", "0=zero", "0=zero again", Integer.MAX_VALUE + "=max")));
+    }
+}
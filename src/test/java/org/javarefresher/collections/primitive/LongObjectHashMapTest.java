@@ -0,0 +1,215 @@
+package org.javarefresher.collections.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongObjectHashMapTest {
+
+    // new LongObjectHashMap<>(3) has 8 slots and grows past 4 entries
+    private static final int SMALL_MASK = 7;
+
+    @Test
+    void putGetReplaceAndRemove() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        assertNull(map.put(1, "a"));
+        assertEquals("a", map.put(1, "b"));
+        assertEquals("b", map.get(1));
+        assertEquals(1, map.size());
+
+        assertEquals("b", map.remove(1));
+        assertNull(map.remove(1));
+        assertNull(map.get(1));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void zeroAndNegativeKeysAreOrdinaryKeys() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(0, "zero");
+        map.put(-1, "minus one");
+        map.put(Long.MIN_VALUE, "min");
+
+        assertEquals("zero", map.get(0));
+        assertEquals("minus one", map.get(-1));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertEquals(3, map.size());
+
+        assertEquals("zero", map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void nullValuesArePresent() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(5, null);
+        map.put(0, null);
+
+        assertTrue(map.containsKey(5));
+        assertTrue(map.containsKey(0));
+        assertNull(map.get(5));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removeFromMiddleOfProbeRunKeepsLaterKeysReachable() {
+        List<Long> keys = keysWithHome(3, 4);
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(3);
+        keys.forEach(key -> map.put(key, "v" + key));
+
+        // Occupies slots 3..6; removing the second key must shift the last two back
+        map.remove(keys.get(1));
+
+        assertNull(map.get(keys.get(1)));
+        assertEquals("v" + keys.get(0), map.get(keys.get(0)));
+        assertEquals("v" + keys.get(2), map.get(keys.get(2)));
+        assertEquals("v" + keys.get(3), map.get(keys.get(3)));
+        assertEquals(3, map.size());
+
+        map.remove(keys.get(0));
+        assertEquals("v" + keys.get(3), map.get(keys.get(3)));
+        map.remove(keys.get(2));
+        assertEquals("v" + keys.get(3), map.get(keys.get(3)));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void removeShiftsRunThatWrapsAroundTheTable() {
+        // Homes 6, 6, 7, 0 fill slots 6, 7, 0, 1
+        long a = keysWithHome(6, 2).get(0);
+        long b = keysWithHome(6, 2).get(1);
+        long c = keysWithHome(7, 1).get(0);
+        long d = keysWithHome(0, 1).get(0);
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(3);
+        map.put(a, "a");
+        map.put(b, "b");
+        map.put(c, "c");
+        map.put(d, "d");
+
+        map.remove(a);
+
+        assertNull(map.get(a));
+        assertEquals("b", map.get(b));
+        assertEquals("c", map.get(c));
+        assertEquals("d", map.get(d));
+
+        // Entries already at their home slot must not move before it
+        map.remove(b);
+        assertEquals("c", map.get(c));
+        assertEquals("d", map.get(d));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void reinsertAfterRemoveDoesNotDuplicateKey() {
+        List<Long> keys = keysWithHome(2, 3);
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(3);
+        keys.forEach(key -> map.put(key, "old"));
+
+        map.remove(keys.get(0));
+        map.put(keys.get(2), "new");
+
+        assertEquals(2, map.size());
+        assertEquals("new", map.get(keys.get(2)));
+        assertEquals(2, countEntries(map));
+    }
+
+    @Test
+    void resizeUnderCollisionsKeepsEveryEntry() {
+        List<Long> keys = keysWithHome(5, 40);
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(3);
+        for (long key : keys) {
+            map.put(key, key);
+        }
+
+        assertEquals(keys.size(), map.size());
+        for (long key : keys) {
+            assertEquals(key, map.get(key));
+        }
+
+        for (int i = 0; i < keys.size(); i += 2) {
+            map.remove(keys.get(i));
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i % 2 == 1, map.containsKey(keys.get(i)));
+        }
+        assertEquals(keys.size() / 2, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(42);
+        LongObjectHashMap<Integer> map = new LongObjectHashMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+
+        // A small key range makes collisions and remove-then-probe sequences common
+        for (int step = 0; step < 50_000; step++) {
+            long key = random.nextInt(200) - 20;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, step), map.put(key, step));
+            }
+            if (step % 1000 == 0) {
+                assertSameContents(expected, map);
+            }
+        }
+        assertSameContents(expected, map);
+    }
+
+    @Test
+    void clearRemovesEverything() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        for (long key = -5; key < 50; key++) {
+            map.put(key, "v");
+        }
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertEquals(0, countEntries(map));
+        assertNull(map.get(0));
+        assertNull(map.get(10));
+        map.put(10, "again");
+        assertEquals("again", map.get(10));
+    }
+
+    // The first count positive keys whose home slot in an 8-slot table is home
+    private static List<Long> keysWithHome(int home, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            if ((LongObjectHashMap.hash(key) & SMALL_MASK) == home) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static int countEntries(LongObjectHashMap<?> map) {
+        int[] count = {0};
+        map.forEach((key, value) -> count[0]++);
+        return count[0];
+    }
+
+    private static void assertSameContents(Map<Long, Integer> expected, LongObjectHashMap<Integer> map) {
+        assertEquals(expected.size(), map.size());
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+        for (long key = -20; key < 180; key++) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+    }
+}
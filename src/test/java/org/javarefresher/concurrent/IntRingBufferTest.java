@@ -0,0 +1,276 @@
+package org.javarefresher.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class IntRingBufferTest {
+
+    private static final int PRODUCERS = 3;
+    private static final int CONSUMERS = 3;
+    private static final int VALUES_PER_PRODUCER = 10_000;
+
+    // Values are producer * VALUES_PER_PRODUCER + sequence, so every value is distinct and >= 0
+    private static final int POISON = -1;
+
+    @Test
+    void capacityRoundsUpToAPowerOfTwo() {
+        assertEquals(2, new IntRingBuffer(1, WaitStrategy.spinning()).capacity());
+        assertEquals(2, new IntRingBuffer(2, WaitStrategy.spinning()).capacity());
+        assertEquals(4, new IntRingBuffer(3, WaitStrategy.spinning()).capacity());
+        assertEquals(1024, new IntRingBuffer(1000, WaitStrategy.spinning()).capacity());
+        assertEquals(1024, new IntRingBuffer(1024, WaitStrategy.spinning()).capacity());
+        assertEquals(2048, new IntRingBuffer(1025, WaitStrategy.spinning()).capacity());
+
+        assertThrows(IllegalArgumentException.class, () -> new IntRingBuffer(0, WaitStrategy.spinning()));
+        assertThrows(IllegalArgumentException.class, () -> new IntRingBuffer((1 << 30) + 1, WaitStrategy.spinning()));
+    }
+
+    @Test
+    void offerAndPollStopAtFullAndEmptyOnEveryLap() {
+        IntRingBuffer buffer = new IntRingBuffer(3, WaitStrategy.spinning());
+
+        for (int lap = 0; lap < 5; lap++) {
+            assertTrue(buffer.isEmpty());
+            assertEquals(-1, buffer.poll(-1));
+
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(lap * 10 + i));
+            }
+            assertTrue(buffer.isFull());
+            assertFalse(buffer.offer(99));
+            assertEquals(4, buffer.size());
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals(lap * 10 + i, buffer.poll(-1));
+            }
+            assertEquals(0, buffer.size());
+        }
+    }
+
+    @Test
+    void drainToTakesTheReadyRunInOrder() {
+        IntRingBuffer buffer = new IntRingBuffer(8, WaitStrategy.spinning());
+        for (int i = 1; i <= 6; i++) {
+            buffer.offer(i);
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained::add, 2));
+        assertEquals(List.of(1, 2), drained);
+
+        int[] target = new int[5];
+        assertEquals(3, buffer.drainTo(target, 2, 10));
+        assertArrayEquals(new int[] {0, 0, 3, 4, 5}, target);
+
+        assertEquals(1, buffer.drainTo(drained::add, 10));
+        assertEquals(0, buffer.drainTo(drained::add, 10));
+        assertEquals(List.of(1, 2, 6), drained);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"spinning", "yielding", "blocking"})
+    @Timeout(60)
+    void everyValueIsTakenExactlyOnce(String strategy) throws Exception {
+        IntRingBuffer buffer = new IntRingBuffer(64, strategy(strategy));
+        AtomicIntegerArray seen = new AtomicIntegerArray(PRODUCERS * VALUES_PER_PRODUCER);
+        AtomicReference<String> orderViolation = new AtomicReference<>();
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int base = p * VALUES_PER_PRODUCER;
+            producers.add(start(() -> {
+                for (int i = 0; i < VALUES_PER_PRODUCER; i++) {
+                    buffer.put(base + i);
+                }
+            }));
+        }
+        List<Thread> consumers = new ArrayList<>();
+        for (int c = 0; c < CONSUMERS; c++) {
+            consumers.add(start(() -> {
+                // Each producer's values must reach any one consumer in the order they were put
+                int[] last = new int[PRODUCERS];
+                Arrays.fill(last, -1);
+                int value;
+                while ((value = buffer.take()) != POISON) {
+                    seen.incrementAndGet(value);
+                    int producer = value / VALUES_PER_PRODUCER;
+                    if (value <= last[producer]) {
+                        orderViolation.compareAndSet(null, value + " after " + last[producer]);
+                    }
+                    last[producer] = value;
+                }
+            }));
+        }
+
+        join(producers);
+        for (int c = 0; c < CONSUMERS; c++) {
+            buffer.put(POISON);
+        }
+        join(consumers);
+
+        assertNull(orderViolation.get());
+        for (int i = 0; i < seen.length(); i++) {
+            assertEquals(1, seen.get(i), "value " + i);
+        }
+        assertTrue(buffer.isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"spinning", "yielding", "blocking"})
+    @Timeout(60)
+    void drainingConsumersSeeEveryValueExactlyOnce(String strategy) throws Exception {
+        IntRingBuffer buffer = new IntRingBuffer(64, strategy(strategy));
+        int total = PRODUCERS * VALUES_PER_PRODUCER;
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        AtomicInteger consumed = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int base = p * VALUES_PER_PRODUCER;
+            threads.add(start(() -> {
+                for (int i = 0; i < VALUES_PER_PRODUCER; i++) {
+                    buffer.put(base + i);
+                }
+            }));
+        }
+        for (int c = 0; c < CONSUMERS; c++) {
+            threads.add(start(() -> {
+                int[] batch = new int[16];
+                while (consumed.get() < total) {
+                    int drained = buffer.drainTo(batch, 0, batch.length);
+                    for (int i = 0; i < drained; i++) {
+                        seen.incrementAndGet(batch[i]);
+                    }
+                    if (drained == 0) {
+                        Thread.yield();
+                    } else {
+                        consumed.addAndGet(drained);
+                    }
+                }
+            }));
+        }
+        join(threads);
+
+        assertEquals(total, consumed.get());
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, seen.get(i), "value " + i);
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void blockedConsumerIsWokenByAPut() throws Exception {
+        IntRingBuffer buffer = new IntRingBuffer(4, WaitStrategy.blocking());
+        AtomicInteger taken = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread consumer = start(() -> {
+            taken.set(buffer.take());
+            done.countDown();
+        });
+
+        awaitParked(consumer);
+        buffer.offer(42);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(42, taken.get());
+    }
+
+    @Test
+    @Timeout(10)
+    void blockedProducerIsWokenByATake() throws Exception {
+        IntRingBuffer buffer = new IntRingBuffer(2, WaitStrategy.blocking());
+        buffer.offer(1);
+        buffer.offer(2);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread producer = start(() -> {
+            buffer.put(3);
+            done.countDown();
+        });
+
+        awaitParked(producer);
+        assertEquals(1, buffer.poll(-1));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, buffer.poll(-1));
+        assertEquals(3, buffer.poll(-1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"spinning", "yielding", "blocking"})
+    @Timeout(10)
+    void waitingTakeCanBeInterrupted(String strategy) throws Exception {
+        IntRingBuffer buffer = new IntRingBuffer(2, strategy(strategy));
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                buffer.take();
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+        });
+        consumer.start();
+
+        consumer.interrupt();
+        consumer.join();
+
+        assertTrue(thrown.get() instanceof InterruptedException, String.valueOf(thrown.get()));
+    }
+
+    private static WaitStrategy strategy(String name) {
+        return switch (name) {
+            case "spinning" -> WaitStrategy.spinning();
+            case "yielding" -> WaitStrategy.yielding();
+            case "blocking" -> WaitStrategy.blocking();
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private static Thread start(Task task) {
+        Thread thread = new Thread(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        // A thread stuck in a failing test must not keep the test JVM alive
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void join(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+    }
+}
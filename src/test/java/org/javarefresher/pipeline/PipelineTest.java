@@ -0,0 +1,222 @@
+package org.javarefresher.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(30)
+class PipelineTest {
+
+    @Test
+    void stagesHandItemsOnInOrder() throws InterruptedException {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        Pipeline<String> format = Pipeline.<String>builder("format", received::addAll)
+                .maxBatchSize(8).build();
+        Pipeline<Integer> square = Pipeline.<Integer>builder("square", batch -> {
+            for (int value : batch) {
+                submitUnchecked(format, value + "^2=" + value * value);
+            }
+        }).maxBatchSize(8).build();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(square.submit(i));
+        }
+        // Close upstream first: its workers finish handing off before the next stage closes
+        square.close();
+        format.close();
+
+        assertEquals(IntStream.range(0, 100).mapToObj(i -> i + "^2=" + i * i).toList(), received);
+        assertEquals(100, square.stats().processed());
+        assertEquals(100, format.stats().submitted());
+        assertEquals(100, format.stats().processed());
+    }
+
+    @Test
+    void batchesAreBoundedByMaxBatchSize() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        Pipeline<Integer> pipeline = Pipeline.<Integer>builder("batches", batch -> {
+            await(release);
+            batchSizes.add(batch.size());
+        }).maxBatchSize(4).build();
+
+        for (int i = 0; i < 11; i++) {
+            pipeline.submit(i);
+        }
+        release.countDown();
+        pipeline.close();
+
+        assertEquals(11, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size >= 1 && size <= 4), batchSizes.toString());
+    }
+
+    @Test
+    void closeDrainsQueuedItemsAndRefusesNewOnes() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+        Pipeline<Integer> pipeline = Pipeline.<Integer>builder("drain", batch -> {
+            await(release);
+            handled.addAll(batch);
+        }).capacity(100).maxBatchSize(1).build();
+
+        for (int i = 0; i < 10; i++) {
+            pipeline.submit(i);
+        }
+        Thread closer = startClosing(pipeline);
+
+        // Once close() has started no item is accepted, even with room in the queue
+        assertThrows(IllegalStateException.class, () -> pipeline.submit(10));
+
+        release.countDown();
+        closer.join();
+        assertEquals(IntStream.range(0, 10).boxed().toList(), handled);
+        assertEquals(0, pipeline.stats().queueDepth());
+    }
+
+    @Test
+    void failingBatchesDoNotStallThePipeline() throws InterruptedException {
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+        Pipeline<Integer> pipeline = Pipeline.<Integer>builder("failing", batch -> {
+            int value = batch.get(0);
+            if (value == 3) {
+                throw new IllegalStateException("bad item " + value);
+            }
+            if (value == 6) {
+                throw new StackOverflowError("bad item " + value);
+            }
+            handled.add(value);
+        }).maxBatchSize(1).errorHandler(errors::add).build();
+
+        for (int i = 0; i < 10; i++) {
+            pipeline.submit(i);
+        }
+        pipeline.close();
+
+        assertEquals(List.of(0, 1, 2, 4, 5, 7, 8, 9), handled);
+        assertEquals(2, errors.size());
+        assertTrue(errors.get(0) instanceof IllegalStateException);
+        assertTrue(errors.get(1) instanceof StackOverflowError);
+        PipelineStats stats = pipeline.stats();
+        assertEquals(2, stats.failedBatches());
+        assertEquals(8, stats.processed());
+        assertEquals(10, stats.submitted());
+    }
+
+    @Test
+    void workerKilledByTheErrorHandlerIsReplacedEvenWhileClosing() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+        Pipeline<Integer> pipeline = Pipeline.<Integer>builder("replaced", batch -> {
+            int value = batch.get(0);
+            if (value == 0) {
+                await(release);
+            }
+            if (value % 2 == 0) {
+                throw new IllegalStateException("even");
+            }
+            handled.add(value);
+        }).maxBatchSize(1).errorHandler(e -> {
+            throw new AssertionError("error handler failed", e);
+        }).build();
+
+        for (int i = 0; i < 6; i++) {
+            pipeline.submit(i);
+        }
+        Thread closer = startClosing(pipeline);
+
+        // The only worker dies on item 0 after close() has begun; the rest must still be handled
+        release.countDown();
+        closer.join();
+        assertEquals(List.of(1, 3, 5), handled);
+        assertEquals(3, pipeline.stats().failedBatches());
+        assertEquals(0, pipeline.stats().queueDepth());
+    }
+
+    @Test
+    void fullQueueRejectsOrDropsOldestByPolicy() throws InterruptedException {
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+        Pipeline<Integer> rejecting = Pipeline.<Integer>builder("reject", batch -> {
+            busy.countDown();
+            await(release);
+            handled.addAll(batch);
+        }).capacity(2).maxBatchSize(1).overflowPolicy(OverflowPolicy.REJECT).build();
+
+        rejecting.submit(0);
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+        assertTrue(rejecting.submit(1));
+        assertTrue(rejecting.submit(2));
+        assertFalse(rejecting.submit(3));
+        release.countDown();
+        rejecting.close();
+        assertEquals(List.of(0, 1, 2), handled);
+        assertEquals(1, rejecting.stats().rejected());
+
+        CountDownLatch busyAgain = new CountDownLatch(1);
+        CountDownLatch releaseAgain = new CountDownLatch(1);
+        handled.clear();
+        Pipeline<Integer> dropping = Pipeline.<Integer>builder("drop", batch -> {
+            busyAgain.countDown();
+            await(releaseAgain);
+            handled.addAll(batch);
+        }).capacity(2).maxBatchSize(1).overflowPolicy(OverflowPolicy.DROP_OLDEST).build();
+
+        dropping.submit(0);
+        assertTrue(busyAgain.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(dropping.submit(i));
+        }
+        releaseAgain.countDown();
+        dropping.close();
+        assertEquals(List.of(0, 3, 4), handled);
+        assertEquals(2, dropping.stats().dropped());
+    }
+
+    // close() parks in join() once it has stopped intake and is waiting for the workers
+    private static Thread startClosing(Pipeline<Integer> pipeline) throws InterruptedException {
+        Thread closer = new Thread(() -> {
+            try {
+                pipeline.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        closer.setDaemon(true);
+        closer.start();
+        while (closer.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        return closer;
+    }
+
+    private static void submitUnchecked(Pipeline<String> pipeline, String value) {
+        try {
+            pipeline.submit(value);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
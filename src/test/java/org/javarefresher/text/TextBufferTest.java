@@ -0,0 +1,39 @@
+package org.javarefresher.text;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class TextBufferTest {
+
+    @Test
+    void subSequenceWithinLength() {
+        TextBuffer buffer = new TextBuffer(16);
+        buffer.append('a').append('b').append('c');
+
+        assertEquals("bc", buffer.subSequence(1, 3).toString());
+        assertEquals("", buffer.subSequence(3, 3).toString());
+    }
+
+    @Test
+    void subSequenceRejectsBoundsPastLengthEvenWithinCapacity() {
+        TextBuffer buffer = new TextBuffer(16);
+        buffer.append('a').append('b').append('c');
+
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.subSequence(0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.subSequence(-1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.subSequence(2, 1));
+    }
+
+    @Test
+    void subSequenceSeesOnlyCurrentContentAfterClear() {
+        TextBuffer buffer = new TextBuffer(16);
+        buffer.append(1234);
+        buffer.clear();
+        buffer.append('x');
+
+        assertEquals("x", buffer.subSequence(0, 1).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.subSequence(0, 2));
+    }
+}
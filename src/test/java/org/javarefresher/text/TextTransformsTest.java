@@ -0,0 +1,110 @@
+package org.javarefresher.text;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TextTransformsTest {
+
+    @Test
+    void reverseWordsKeepsDelimitersInPlace() {
+        assertEquals("My, name, is. Iqra. Aziz", reverseWords("yM, eman, si. arqI. zizA"));
+        assertEquals("", reverseWords(""));
+        assertEquals("a", reverseWords("a"));
+        assertEquals(".", reverseWords("."));
+    }
+
+    @Test
+    void reverseWordsCopiesSurroundingAndRepeatedWhitespace() {
+        assertEquals("  cba   fed  ", reverseWords("  abc   def  "));
+        assertEquals("   ", reverseWords("   "));
+        assertEquals(" ,.a, .", reverseWords(" ,.a, ."));
+    }
+
+    @Test
+    void reverseWordsInPlaceTouchesOnlyTheRange() {
+        char[] chars = "xx ab  cd. yy".toCharArray();
+        TextTransforms.reverseWordsInPlace(chars, 3, 7);
+        assertEquals("xx ba  dc. yy", new String(chars));
+
+        char[] single = {'q'};
+        TextTransforms.reverseWordsInPlace(single, 0, 1);
+        assertEquals("q", new String(single));
+        TextTransforms.reverseWordsInPlace(single, 0, 0);
+        assertEquals("q", new String(single));
+    }
+
+    @Test
+    void reverseWordsAppendsToExistingContent() {
+        TextBuffer out = new TextBuffer(4);
+        out.append('>');
+        TextTransforms.reverseWords("olleh dlrow", out);
+        assertEquals(">hello world", out.toString());
+    }
+
+    @Test
+    void runLengthEncodeAndDecode() {
+        assertEquals("a4b5", encode("aaaabbbbb"));
+        assertEquals("aaaabbbbb", decode("a4b5"));
+        assertEquals("a1b1a1", encode("aba"));
+        assertEquals("", encode(""));
+        assertEquals("", decode(""));
+        assertEquals("x1", encode("x"));
+        assertEquals("x", decode("x1"));
+    }
+
+    @Test
+    void runLengthCountsPastNineUseSeveralDigits() {
+        String run = "z".repeat(12) + "y" + " ".repeat(105);
+        assertEquals("z12y1 105", encode(run));
+        assertEquals(run, decode("z12y1 105"));
+        assertEquals("", decode("a0"));
+    }
+
+    @Test
+    void runLengthKeepsWhitespaceRuns() {
+        String text = "  a  b ";
+        assertEquals(" 2a1 2b1 1", encode(text));
+        assertEquals(text, decode(encode(text)));
+    }
+
+    @Test
+    void runLengthRejectsAmbiguousInput() {
+        assertThrows(IllegalArgumentException.class, () -> encode("ab1"));
+        assertThrows(IllegalArgumentException.class, () -> decode("a"));
+        assertThrows(IllegalArgumentException.class, () -> decode("ab2"));
+        assertThrows(IllegalArgumentException.class, () -> decode("12"));
+        assertThrows(ArithmeticException.class, () -> decode("a99999999999"));
+    }
+
+    @Test
+    void transformAllKeepsRecordOrder() {
+        List<String> records = List.of("aaa", "", "b", "cccccccccccc", "  ");
+        assertArrayEquals(new String[] {"a3", "", "b1", "c12", " 2"},
+                TextTransforms.transformAll(records, TextTransforms.RUN_LENGTH_ENCODE));
+        assertArrayEquals(new String[] {"cba", "", "b", "cccccccccccc", "  "},
+                TextTransforms.transformAll(List.of("abc", "", "b", "cccccccccccc", "  "), TextTransforms.REVERSE_WORDS));
+    }
+
+    private static String reverseWords(String input) {
+        return apply(TextTransforms.REVERSE_WORDS, input);
+    }
+
+    private static String encode(String input) {
+        return apply(TextTransforms.RUN_LENGTH_ENCODE, input);
+    }
+
+    private static String decode(String input) {
+        return apply(TextTransforms.RUN_LENGTH_DECODE, input);
+    }
+
+    private static String apply(TextTransform transform, String input) {
+        TextBuffer out = new TextBuffer(16);
+        transform.apply(input, out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package springboot.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The Flyway migrations build the schema the entities expect (the context only starts when
+ * Hibernate's ddl-auto=validate accepts it), create the secondary indexes, and the repository
+ * lookups use those indexes instead of scanning a seeded table.
+ */
+@SpringBootTest(properties = "app.analytics.snapshot-file=target/test-data/schema-migration.columns")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SchemaMigrationTest {
+
+    private static final List<String> SECONDARY_INDEXES = List.of(
+            "IDX_ORDERS_USER_STATUS",
+            "IDX_ORDERS_STATUS_DATE",
+            "IDX_ORDERS_ORDER_DATE",
+            "IDX_ORDERS_TOTAL_AMOUNT",
+            "IDX_ORDERS_STATUS_ID",
+            "IDX_USERS_STATUS_CREATED",
+            "IDX_USERS_CREATED_AT",
+            "IDX_USER_SEARCH_GRAMS_USER",
+            "IDX_ORDERS_ARCHIVE_USER_STATUS",
+            "IDX_ORDERS_ARCHIVE_STATUS_DATE",
+            "IDX_ORDERS_ARCHIVE_ORDER_DATE",
+            "IDX_ORDERS_ARCHIVE_TOTAL_AMOUNT",
+            "IDX_ORDERS_ARCHIVE_STATUS_ID");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        // Ids far above the sequences, so nothing the application inserts can collide
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, status, created_at, updated_at) " +
+                "SELECT 1000000 + x, 'seeded_' || x, 'seeded_' || x || '@example.com', 'password', " +
+                "CASE WHEN MOD(x, 20) = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END, " +
+                "DATEADD('HOUR', x, TIMESTAMP '2023-01-01 00:00:00'), CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, 2000)");
+        jdbcTemplate.update("INSERT INTO orders (id, total_amount, status, order_date, created_at, updated_at, user_id) " +
+                "SELECT 1000000 + x, MOD(x, 500) + 0.99, " +
+                "CASE MOD(x, 4) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'SHIPPED' WHEN 2 THEN 'DELIVERED' ELSE 'CANCELED' END, " +
+                "DATEADD('MINUTE', x, TIMESTAMP '2024-01-01 00:00:00'), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, " +
+                "1000001 + MOD(x, 2000) FROM SYSTEM_RANGE(1, 50000)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void everyMigrationIsApplied() {
+        MigrationInfo current = flyway.info().current();
+        MigrationInfo[] all = flyway.info().all();
+
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals(all[all.length - 1].getVersion(), current.getVersion());
+        assertTrue(flyway.validateWithResult().validationSuccessful);
+    }
+
+    @Test
+    void secondaryIndexesExist() {
+        Set<String> indexes = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE table_schema = 'PUBLIC'", String.class));
+
+        for (String index : SECONDARY_INDEXES) {
+            assertTrue(indexes.contains(index), index + " is missing; indexes: " + indexes);
+        }
+    }
+
+    /**
+     * One row per repository lookup: the WHERE clause its query runs and the index it must use.
+     */
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "findByUserId / findDTOsByUserId       | SELECT id, status, total_amount FROM orders WHERE user_id = 1000007 | IDX_ORDERS_USER_STATUS",
+            "findByUserIdAndStatus                 | SELECT id FROM orders WHERE user_id = 1000007 AND status = 'PENDING' | IDX_ORDERS_USER_STATUS",
+            "findDTOsByStatus / streamDTOsByStatus | SELECT id, order_date, total_amount FROM orders WHERE status = 'PENDING' | IDX_ORDERS_STATUS_DATE",
+            "calculateTotalSalesByStatus           | SELECT SUM(total_amount) FROM orders WHERE status = 'SHIPPED' | IDX_ORDERS_STATUS_DATE",
+            "findDTOsByOrderDateBetween            | SELECT id, status FROM orders WHERE order_date BETWEEN TIMESTAMP '2024-01-02 00:00:00' AND TIMESTAMP '2024-01-03 00:00:00' | IDX_ORDERS_ORDER_DATE",
+            "findByTotalAmountGreaterThan          | SELECT id FROM orders WHERE total_amount > 498 | IDX_ORDERS_TOTAL_AMOUNT",
+            "findOrdersInAmountRange               | SELECT id FROM orders WHERE total_amount BETWEEN 10 AND 11 | IDX_ORDERS_TOTAL_AMOUNT",
+            "findDTOsByStatus (users)              | SELECT id, created_at FROM users WHERE status = 'INACTIVE' | IDX_USERS_STATUS_CREATED",
+            "countByStatus                         | SELECT COUNT(*) FROM users WHERE status = 'INACTIVE' | IDX_USERS_STATUS_CREATED",
+            "findDTOsCreatedSince                  | SELECT id FROM users WHERE created_at >= TIMESTAMP '2023-03-20 00:00:00' | IDX_USERS_CREATED_AT"
+    })
+    void lookupUsesIndex(String lookup, String sql, String index) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+
+        assertTrue(plan.contains("PUBLIC." + index), lookup + " does not use " + index + ":\n" + plan);
+        assertFalse(plan.contains("tableScan"), lookup + " scans a table:\n" + plan);
+    }
+}
@@ -0,0 +1,152 @@
+package springboot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import springboot.dto.UserCreationRequest;
+import springboot.model.Order.OrderStatus;
+
+/**
+ * The order listings must read each order's user in the same statement as the order, so
+ * the number of SQL statements a listing runs does not grow with the number of orders.
+ */
+@SpringBootTest(properties = "app.analytics.snapshot-file=target/test-data/statement-count.columns")
+class OrderReadStatementCountTest {
+
+    private static final StatementLog statementLog = new StatementLog();
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserService userService;
+
+    private int users;
+
+    @Test
+    void listingsRunTheSameStatementsForMoreOrders() {
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        seed(3, 3);
+        List<Integer> few = countListingStatements(start);
+
+        seed(5, 6);
+        List<Integer> many = countListingStatements(start);
+
+        assertEquals(few, many, "statements per listing with 9 and with 39 orders");
+        many.forEach(count -> assertTrue(count > 0 && count <= 4, "a listing ran " + count + " statements"));
+    }
+
+    private List<Integer> countListingStatements(LocalDateTime start) {
+        LocalDateTime end = LocalDateTime.now().plusDays(1);
+        return List.of(
+                statementLog.count(() -> orderService.getOrdersByStatus(OrderStatus.PENDING)),
+                statementLog.count(() -> orderService.getOrdersByDateRange(start, end)),
+                statementLog.count(() -> orderService.getAllOrders(0, 100, "id", "asc")),
+                statementLog.count(() -> orderService.getOrdersByCursor(null, 100, "orderDate", "asc")));
+    }
+
+    private void seed(int userCount, int ordersPerUser) {
+        for (int i = 0; i < userCount; i++) {
+            int n = ++users;
+            UserCreationRequest request = new UserCreationRequest();
+            request.setUsername("statements_" + n);
+            request.setEmail("statements_" + n + "@example.com");
+            request.setPassword("password" + n);
+            Long userId = userService.createUser(request).getId();
+            for (int j = 0; j < ordersPerUser; j++) {
+                orderService.createOrder(userId, BigDecimal.valueOf(10 + j));
+            }
+        }
+    }
+
+    /**
+     * Records the statements prepared by the current thread, so scheduled jobs running
+     * alongside the test are not counted.
+     */
+    static class StatementLog {
+
+        private final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+        int count(Supplier<?> action) {
+            statements.set(new ArrayList<>());
+            try {
+                action.get();
+                return statements.get().size();
+            } finally {
+                statements.remove();
+            }
+        }
+
+        void record(Object sql) {
+            List<String> log = statements.get();
+            if (log != null) {
+                log.add(String.valueOf(sql));
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new CountingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    static class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            statementLog.record(args[0]);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}